@@ -0,0 +1,84 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/***
+ * BenchmarkRunner
+ *
+ * This class is a small benchmark harness, in the style of JMH.
+ * Each benchmark is run for a number of timed warmup iterations, which are thrown away,
+ * and then for a number of timed measurement iterations. It reports the average
+ * throughput (ops/s, with the error at 99.9%), and the bytes allocated per operation,
+ * read from the same per-thread allocation counters JMH's GC profiler uses.
+ */
+public class BenchmarkRunner {
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final Pattern filter;
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis, String filter){
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = TimeUnit.MILLISECONDS.toNanos(iterationMillis);
+        this.filter = Pattern.compile(filter);
+    }
+
+    public void PrintHeader(){
+        System.out.printf("%-60s %5s %16s %12s %14s%n", "Benchmark", "Cnt", "Score (ops/s)", "Error", "Alloc (B/op)");
+    }
+
+    //Runs the benchmark, if its name matches the filter, and prints its results
+    public void Run(String name, Runnable operation){
+        if(!filter.matcher(name).find())
+            return;
+        for (int i = 0; i < warmupIterations; i++) {
+            Iterate(operation);
+        }
+        List<double[]> results = new ArrayList<>();
+        for (int i = 0; i < measurementIterations; i++) {
+            results.add(Iterate(operation));
+        }
+
+        double meanOps = 0, meanAlloc = 0;
+        for (double[] result : results) {
+            meanOps += result[0] / results.size();
+            meanAlloc += result[1] / results.size();
+        }
+        double variance = 0;
+        for (double[] result : results) {
+            variance += (result[0] - meanOps) * (result[0] - meanOps) / Math.max(1, results.size() - 1);
+        }
+        //3.29 standard errors is roughly the 99.9% confidence interval JMH reports
+        double error = 3.29 * Math.sqrt(variance / results.size());
+        System.out.printf("%-60s %5d %16.3f %12.3f %14.1f%n", name, results.size(), meanOps, error, meanAlloc);
+    }
+
+    //Returns the ops/s and the bytes allocated per op for one iteration
+    private double[] Iterate(Runnable operation){
+        long ops = 0;
+        long allocatedBefore = AllocatedBytes();
+        long start = System.nanoTime();
+        long elapsed;
+        do{
+            operation.run();
+            ops++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        long allocated = AllocatedBytes() - allocatedBefore;
+        return new double[] {ops * 1e9 / elapsed, (double) allocated / ops};
+    }
+
+    //Sums every live thread, so work handed off to the ParallelGenerator's pool is counted too
+    private long AllocatedBytes(){
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(0, allocated);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,31 @@
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * CountingOutputSink
+ *
+ * This class is an in-memory OutputSink for benchmarking. It only counts the files
+ * and bytes it is given, without working out where they would go on disk, so the
+ * benchmarks measure rendering rather than the file system.
+ */
+public class CountingOutputSink implements OutputSink {
+    private final LongAdder files = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    @Override
+    public void Write(String namespace, AssetType type, String name, byte[] content, WriteListener listener) {
+        files.increment();
+        bytes.add(content.length);
+        listener.Written(content.length, 0);
+    }
+
+    @Override
+    public void Flush() {
+    }
+
+    public long GetFiles(){
+        return files.sum();
+    }
+    public long GetBytes(){
+        return bytes.sum();
+    }
+}
@@ -0,0 +1,129 @@
+/***
+ * GeneratorBenchmark
+ *
+ * This class benchmarks every public Generate method of the Generator, writing into a
+ * CountingOutputSink so no time is spent on the disk. It also benchmarks rendering
+ * the blockstate templates on their own, and how generating whole materials scales
+ * from 1 to 10,000 materials, both serially and with the ParallelGenerator.
+ *
+ * Usage: GeneratorBenchmark [name filter regex] [iteration time in ms]
+ */
+public class GeneratorBenchmark {
+    private static final String MOD_NAME = "benchmod";
+    private static final String BLOCK_NAME = "alga";
+
+    public static void main(String[] args) {
+        String filter = (args.length > 0) ? args[0] : ".*";
+        long iterationMillis = (args.length > 1) ? Long.parseLong(args[1]) : 1000;
+        BenchmarkRunner runner = new BenchmarkRunner(3, 5, iterationMillis, filter);
+        runner.PrintHeader();
+
+        RunTemplateBenchmarks(runner);
+        RunGeneratorBenchmarks(runner);
+        RunScalingBenchmarks(runner);
+    }
+
+    private static void RunTemplateBenchmarks(BenchmarkRunner runner){
+        TemplateBuffer buffer = new TemplateBuffer();
+        JsonTemplate[] templates = {BlockstateTemplates.CUBE, BlockstateTemplates.BUTTON, BlockstateTemplates.DOOR,
+                BlockstateTemplates.FENCE, BlockstateTemplates.GATE, BlockstateTemplates.LOG, BlockstateTemplates.PRESSURE_PLATE,
+                BlockstateTemplates.SLAB, BlockstateTemplates.STAIRS, BlockstateTemplates.TRAPDOOR};
+        String[] names = {"CUBE", "BUTTON", "DOOR", "FENCE", "GATE", "LOG", "PRESSURE_PLATE", "SLAB", "STAIRS", "TRAPDOOR"};
+        byte[] blockId = ResourceLocationCache.SHARED.GetBytes(MOD_NAME, "block", BLOCK_NAME);
+        for (int i = 0; i < templates.length; i++) {
+            JsonTemplate template = templates[i];
+            runner.Run("Template.Render." + names[i], () -> {
+                buffer.Reset();
+                template.Render(buffer, blockId);
+            });
+        }
+        runner.Run("ResourceLocationCache.Get", () -> ResourceLocationCache.SHARED.Get(MOD_NAME, "block", BLOCK_NAME));
+    }
+
+    private static void RunGeneratorBenchmarks(BenchmarkRunner runner){
+        Generator gen = new Generator(MOD_NAME, new CountingOutputSink());
+        String b = BLOCK_NAME;
+
+        //- Generic files -//
+        runner.Run("Generator.GenerateBlock", () -> gen.GenerateBlock(b));
+        runner.Run("Generator.GenerateBlock(texture,file)", () -> gen.GenerateBlock(b, b + "_copy"));
+        runner.Run("Generator.GenerateBlockItem", () -> gen.GenerateBlockItem(b));
+        runner.Run("Generator.GenerateBlockItem(item,file)", () -> gen.GenerateBlockItem(b, b + "_copy"));
+        runner.Run("Generator.GenerateItem", () -> gen.GenerateItem("handheld", b));
+        runner.Run("Generator.GenerateLootTable", () -> gen.GenerateLootTable(b));
+
+        //- Blockstates -//
+        runner.Run("Generator.GenerateCubeBlockstate", () -> gen.GenerateCubeBlockstate(b));
+        runner.Run("Generator.GenerateButtonBlockstate", () -> gen.GenerateButtonBlockstate(b));
+        runner.Run("Generator.GenerateDoorBlockstate", () -> gen.GenerateDoorBlockstate(b));
+        runner.Run("Generator.GenerateFenceBlockstate", () -> gen.GenerateFenceBlockstate(b));
+        runner.Run("Generator.GenerateGateBlockstate", () -> gen.GenerateGateBlockstate(b));
+        runner.Run("Generator.GenerateLogBlockstate", () -> gen.GenerateLogBlockstate(b));
+        runner.Run("Generator.GeneratePressurePlateBlockstate", () -> gen.GeneratePressurePlateBlockstate(b));
+        runner.Run("Generator.GenerateSlabBlockstate", () -> gen.GenerateSlabBlockstate(b));
+        runner.Run("Generator.GenerateStairsBlockstate", () -> gen.GenerateStairsBlockstate(b));
+        runner.Run("Generator.GenerateTrapdoorBlockstate", () -> gen.GenerateTrapdoorBlockstate(b));
+        runner.Run("Generator.GenerateWallBlockstate", () -> gen.GenerateWallBlockstate(b));
+
+        //- Building set parts -//
+        runner.Run("Generator.GenerateButton", () -> gen.GenerateButton(b));
+        runner.Run("Generator.GenerateDoor", () -> gen.GenerateDoor(b));
+        runner.Run("Generator.GenerateFence", () -> gen.GenerateFence(b));
+        runner.Run("Generator.GenerateGate", () -> gen.GenerateGate(b));
+        runner.Run("Generator.GenerateLeaves", () -> gen.GenerateLeaves(b));
+        runner.Run("Generator.GenerateLog", () -> gen.GenerateLog(b));
+        runner.Run("Generator.GeneratePlanks", () -> gen.GeneratePlanks(b));
+        runner.Run("Generator.GeneratePressurePlate", () -> gen.GeneratePressurePlate(b));
+        runner.Run("Generator.GenerateSapling", () -> gen.GenerateSapling(b));
+        runner.Run("Generator.GenerateSlab", () -> gen.GenerateSlab(b));
+        runner.Run("Generator.GenerateStairs", () -> gen.GenerateStairs(b));
+        runner.Run("Generator.GenerateStrippedLog", () -> gen.GenerateStrippedLog(b));
+        runner.Run("Generator.GenerateStrippedWood", () -> gen.GenerateStrippedWood(b));
+        runner.Run("Generator.GenerateTrapdoor", () -> gen.GenerateTrapdoor(b));
+        runner.Run("Generator.GenerateWall", () -> gen.GenerateWall(b));
+        runner.Run("Generator.GenerateWood", () -> gen.GenerateWood(b));
+
+        //- Sets -//
+        for (Generator.SetType set : Generator.SetType.values()) {
+            runner.Run("Generator.GenerateSet(" + set + ")", () -> gen.GenerateSet(set, b));
+        }
+        runner.Run("Generator.GenerateBuildingSet", () -> gen.GenerateBuildingSet(b));
+        runner.Run("Generator.GenerateArmourSet", () -> gen.GenerateArmourSet(b));
+        runner.Run("Generator.GenerateToolSet", () -> gen.GenerateToolSet(b));
+
+        //- Recipes -//
+        RecipeItem ingredient = new RecipeItem(b + "_planks");
+        RecipeItem result = new RecipeItem(b + "_button");
+        RecipeItem[] ingredients = {new RecipeItem('#', b + "_stick"), new RecipeItem('W', b + "_planks")};
+        RecipeItem shapedResult = new RecipeItem(b + "_fence", 3);
+        Recipes.CraftableItems recipe = Recipes.CraftableItems.FENCE;
+        runner.Run("Generator.GenerateShapelessCraftingRecipe", () -> gen.GenerateShapelessCraftingRecipe(ingredient, result));
+        runner.Run("Generator.GenerateShapelessCraftingRecipe(group)", () -> gen.GenerateShapelessCraftingRecipe(ingredient, result, "group"));
+        runner.Run("Generator.GenerateShapedCraftingRecipe", () -> gen.GenerateShapedCraftingRecipe(ingredients, shapedResult, recipe));
+        runner.Run("Generator.GenerateShapedCraftingRecipe(group)", () -> gen.GenerateShapedCraftingRecipe(ingredients, shapedResult, recipe, "group"));
+        runner.Run("Generator.GenerateBuildingSetRecipes", () -> gen.GenerateBuildingSetRecipes(b));
+        runner.Run("Generator.GenerateArmourSetRecipes", () -> gen.GenerateArmourSetRecipes(b));
+        runner.Run("Generator.GenerateToolSetRecipes", () -> gen.GenerateToolSetRecipes(b));
+    }
+
+    //Generates every set for each material, so one op is a whole batch of materials
+    private static void RunScalingBenchmarks(BenchmarkRunner runner){
+        Generator gen = new Generator(MOD_NAME, new CountingOutputSink());
+        ParallelGenerator parallel = new ParallelGenerator(gen);
+        for (int count : new int[] {1, 100, 10000}) {
+            String[] materials = new String[count];
+            for (int i = 0; i < count; i++) {
+                materials[i] = "material" + i;
+            }
+            runner.Run("Scaling.Serial(" + count + ")", () -> {
+                for (String material : materials) {
+                    for (Generator.SetType set : Generator.SetType.values()) {
+                        gen.GenerateSet(set, material);
+                    }
+                }
+            });
+            runner.Run("Scaling.Parallel(" + count + ")", () -> parallel.GenerateMaterials(materials, Generator.SetType.values()));
+        }
+        parallel.Shutdown();
+    }
+}
@@ -0,0 +1,73 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/***
+ * AssetLayout
+ *
+ * This class works out where each file goes on disk. The assets root is the Fabric
+ * assets directory, and datapack files go in the data directory next to it.
+ *
+ * The directories for each namespace (models/block, models/item, blockstates,
+ * loot_tables/blocks and recipes) are resolved once, the first time the namespace is used,
+ * so each file only needs its name resolving against its directory.
+ * Nothing is created on disk here; the AssetWriter creates a directory when it first writes into it.
+ */
+public class AssetLayout {
+    private final Path assetsRoot;
+    private final Path dataRoot;
+    //The directory of every AssetType, by ordinal, for each namespace
+    private final Map<String, Path[]> directories = new ConcurrentHashMap<>();
+
+    public AssetLayout(Path assetsRoot){
+        this(assetsRoot, assetsRoot.toAbsolutePath().normalize().resolveSibling("data"));
+    }
+    public AssetLayout(Path assetsRoot, Path dataRoot){
+        this.assetsRoot = assetsRoot;
+        this.dataRoot = dataRoot;
+    }
+
+    //The assets directory is read from the PATH environment variable
+    public static AssetLayout FromEnvironment(){
+        return new AssetLayout(Paths.get(System.getenv("PATH")));
+    }
+
+    public Path GetAssetsRoot(){
+        return assetsRoot;
+    }
+    public Path GetDataRoot(){
+        return dataRoot;
+    }
+
+    public Path GetPath(String namespace, AssetType type, String name){
+        return GetDirectory(namespace, type).resolve(name + ".json");
+    }
+
+    //Returns where a file with the given path inside the pack (e.g. assets/{mod}/blockstates/{name}.json)
+    //is on disk, without creating any directories
+    public Path GetFile(String packPath){
+        int slash = packPath.indexOf('/');
+        Path root = (packPath.substring(0, slash).equals("data")) ? dataRoot : assetsRoot;
+        return root.resolve(packPath.substring(slash + 1));
+    }
+
+    public Path GetDirectory(String namespace, AssetType type){
+        return GetDirectories(namespace)[type.ordinal()];
+    }
+
+    //Resolves every directory of the namespace, if that hasn't been done already
+    public Path[] GetDirectories(String namespace){
+        return directories.computeIfAbsent(namespace, this::ResolveDirectories);
+    }
+
+    private Path[] ResolveDirectories(String namespace){
+        AssetType[] types = AssetType.values();
+        Path[] namespaceDirectories = new Path[types.length];
+        for (AssetType type : types) {
+            Path root = (type.root.equals("data")) ? dataRoot : assetsRoot;
+            namespaceDirectories[type.ordinal()] = root.resolve(namespace).resolve(type.folder);
+        }
+        return namespaceDirectories;
+    }
+}
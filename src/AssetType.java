@@ -0,0 +1,27 @@
+/***
+ * AssetType
+ *
+ * This enum lists the kinds of file the Generator produces, and where each kind lives
+ * inside a resource pack or datapack, e.g. assets/{mod}/models/block/{name}.json
+ */
+public enum AssetType {
+    BLOCK_MODEL("assets", "models/block"),
+    ITEM_MODEL("assets", "models/item"),
+    BLOCKSTATE("assets", "blockstates"),
+    LOOT_TABLE("data", "loot_tables/blocks"),
+    RECIPE("data", "recipes");
+
+    //"assets" for the resource pack, or "data" for the datapack
+    public final String root;
+    public final String folder;
+
+    AssetType(String root, String folder){
+        this.root = root;
+        this.folder = folder;
+    }
+
+    //The path of the file inside the pack, using '/' separators
+    public String GetPackPath(String namespace, String name){
+        return root + "/" + namespace + "/" + folder + "/" + name + ".json";
+    }
+}
@@ -0,0 +1,21 @@
+import java.nio.file.Path;
+
+/***
+ * AssetWriter
+ *
+ * This interface is used by the Generator to write the rendered JSON files.
+ * Implementations decide how and when the bytes reach the disk, e.g. straight away,
+ * or queued up and written in batches.
+ */
+public interface AssetWriter {
+    //Writes the content to the destination, and tells the listener how it went.
+    //Whether an existing file is left as it is, or overwritten, is up to the implementation.
+    void Write(Path destination, byte[] content, WriteListener listener);
+
+    default void Write(Path destination, byte[] content){
+        Write(destination, content, WriteListener.NONE);
+    }
+
+    //Writes anything that is still waiting to be written
+    void Flush();
+}
@@ -0,0 +1,136 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/***
+ * BatchManifest
+ *
+ * This class reads a CSV manifest listing the mods, materials and sets to generate,
+ * so a whole release can be generated in one run. Each line is:
+ *
+ *     mod, material, sets
+ *
+ * where sets is a ';' separated list of building, armour, tool, building_recipes,
+ * armour_recipes and tool_recipes, or "all". Blank lines and lines starting with #
+ * are ignored.
+ *
+ * One Generator is shared by every material of a mod.
+ */
+public class BatchManifest {
+    public static class Entry {
+        public final String mod;
+        public final String material;
+        public final EnumSet<Generator.SetType> sets;
+
+        Entry(String mod, String material, EnumSet<Generator.SetType> sets){
+            this.mod = mod;
+            this.material = material;
+            this.sets = sets;
+        }
+    }
+
+    private final List<Entry> entries;
+
+    public BatchManifest(List<Entry> entries){
+        this.entries = entries;
+    }
+
+    public static BatchManifest Load(Path manifestFile) throws IOException {
+        return Parse(Files.readAllLines(manifestFile, StandardCharsets.UTF_8));
+    }
+
+    public static BatchManifest Parse(List<String> lines){
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if(line.isEmpty() || line.startsWith("#"))
+                continue;
+            String[] columns = line.split(",");
+            if(columns.length != 3)
+                throw new IllegalArgumentException("Line " + (i + 1) + " should be 'mod, material, sets': " + line);
+            entries.add(new Entry(columns[0].trim(), columns[1].trim(), ParseSets(columns[2], i + 1)));
+        }
+        return new BatchManifest(entries);
+    }
+
+    public List<Entry> GetEntries(){
+        return entries;
+    }
+
+    //Generates every entry into the sink, and prints the time taken for each material.
+    //With more than one thread, each mod's materials are generated in parallel.
+    public void Run(OutputSink sink, int threads){
+        Run(sink, threads, new GeneratorMetrics());
+    }
+    //As above, with every mod's files counted in the given metrics
+    public void Run(OutputSink sink, int threads, GeneratorMetrics metrics){
+        Run(sink, threads, metrics, (GenerationResult) null, false);
+    }
+    //As above, collecting the outcome of every file instead of letting errors escape.
+    //The outcomes of queued writes are only all in once the sink has been flushed.
+    public GenerationResult Run(OutputSink sink, int threads, GeneratorMetrics metrics, GenerationResult.FailureMode mode){
+        return Run(sink, threads, metrics, mode, false);
+    }
+    //As above, writing every file as compact JSON if compact is set
+    public GenerationResult Run(OutputSink sink, int threads, GeneratorMetrics metrics, GenerationResult.FailureMode mode,
+                                boolean compact){
+        GenerationResult result = new GenerationResult(mode);
+        Run(sink, threads, metrics, result, compact);
+        return result;
+    }
+
+    private void Run(OutputSink sink, int threads, GeneratorMetrics metrics, GenerationResult result, boolean compact){
+        Map<String, Generator> generators = new LinkedHashMap<>();
+        Map<String, Map<EnumSet<Generator.SetType>, List<String>>> materials = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            Generator gen = generators.computeIfAbsent(entry.mod, mod -> new Generator(mod, sink, metrics, compact));
+            if(threads <= 1) {
+                long start = System.nanoTime();
+                if(result != null) {
+                    gen.GenerateSets(result, entry.material, entry.sets.toArray(new Generator.SetType[0]));
+                } else {
+                    for (Generator.SetType set : entry.sets) {
+                        gen.GenerateSet(set, entry.material);
+                    }
+                }
+                ParallelGenerator.PrintDurations(List.of(new ParallelGenerator.MaterialDuration(entry.material, System.nanoTime() - start)));
+            } else {
+                materials.computeIfAbsent(entry.mod, mod -> new LinkedHashMap<>())
+                        .computeIfAbsent(entry.sets, sets -> new ArrayList<>())
+                        .add(entry.material);
+            }
+        }
+        for (Map.Entry<String, Map<EnumSet<Generator.SetType>, List<String>>> mod : materials.entrySet()) {
+            ParallelGenerator parallel = new ParallelGenerator(generators.get(mod.getKey()), threads);
+            for (Map.Entry<EnumSet<Generator.SetType>, List<String>> group : mod.getValue().entrySet()) {
+                ParallelGenerator.PrintDurations(parallel.GenerateMaterials(result,
+                        group.getValue().toArray(new String[0]), group.getKey().toArray(new Generator.SetType[0])));
+            }
+            parallel.Shutdown();
+        }
+    }
+
+    private static EnumSet<Generator.SetType> ParseSets(String column, int lineNumber){
+        EnumSet<Generator.SetType> sets = EnumSet.noneOf(Generator.SetType.class);
+        for (String set : column.split(";")) {
+            String name = set.trim().toUpperCase(Locale.ROOT);
+            if(name.equals("ALL")) {
+                sets.addAll(EnumSet.allOf(Generator.SetType.class));
+                continue;
+            }
+            try{
+                sets.add(Generator.SetType.valueOf(name));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + " has an unknown set: " + set.trim());
+            }
+        }
+        return sets;
+    }
+}
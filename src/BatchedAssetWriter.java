@@ -0,0 +1,63 @@
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/***
+ * BatchedAssetWriter
+ *
+ * This class queues up rendered assets, and hands them to another AssetWriter in batches,
+ * once enough files or bytes have built up, or when it is flushed.
+ * Assets are written in the order they were queued, so the first asset queued for a
+ * path is still the one that ends up on disk.
+ *
+ * Remember to call Flush once generation has finished!
+ */
+public class BatchedAssetWriter implements AssetWriter {
+    public static final int DEFAULT_BATCH_FILES = 256;
+    public static final int DEFAULT_BATCH_BYTES = 1 << 20;
+
+    private final AssetWriter writer;
+    private final int batchFiles;
+    private final int batchBytes;
+
+    private final List<Path> queuedPaths = new ArrayList<>();
+    private final List<byte[]> queuedContent = new ArrayList<>();
+    private final List<WriteListener> queuedListeners = new ArrayList<>();
+    private int queuedBytes = 0;
+
+    public BatchedAssetWriter(AssetWriter writer){
+        this(writer, DEFAULT_BATCH_FILES, DEFAULT_BATCH_BYTES);
+    }
+    public BatchedAssetWriter(AssetWriter writer, int batchFiles, int batchBytes){
+        this.writer = writer;
+        this.batchFiles = batchFiles;
+        this.batchBytes = batchBytes;
+    }
+
+    @Override
+    public synchronized void Write(Path destination, byte[] content, WriteListener listener) {
+        queuedPaths.add(destination);
+        queuedContent.add(content);
+        queuedListeners.add(listener);
+        queuedBytes += content.length;
+        if(queuedPaths.size() >= batchFiles || queuedBytes >= batchBytes) {
+            WriteQueued();
+        }
+    }
+
+    @Override
+    public synchronized void Flush() {
+        WriteQueued();
+        writer.Flush();
+    }
+
+    private void WriteQueued(){
+        for (int i = 0; i < queuedPaths.size(); i++) {
+            writer.Write(queuedPaths.get(i), queuedContent.get(i), queuedListeners.get(i));
+        }
+        queuedPaths.clear();
+        queuedContent.clear();
+        queuedListeners.clear();
+        queuedBytes = 0;
+    }
+}
@@ -0,0 +1,60 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/***
+ * BlockstateMultipart
+ *
+ * This class builds a multipart blockstate from a list of parts. Each part applies a
+ * model when its conditions are met (e.g. north=low), or always if it has none, and the
+ * game combines every part that applies. Blocks that connect on each side (fences, walls)
+ * only need one part per side this way, rather than a variant for every combination of sides.
+ *
+ * The result is compiled into a JsonTemplate with the ${block} placeholder, the same as
+ * the rest of BlockstateTemplates.
+ */
+public class BlockstateMultipart {
+    private static final String[] SIDES = {"north", "east", "south", "west"};
+
+    private final List<String[]> conditions = new ArrayList<>();
+    private final List<BlockstateVariants.Variant> models = new ArrayList<>();
+
+    //Adds a part that applies the model when every property has its value.
+    //The conditions are property, value pairs, e.g. "north", "low"
+    public BlockstateMultipart Part(BlockstateVariants.Variant model, String... when){
+        if(when.length % 2 != 0)
+            throw new IllegalArgumentException("Conditions should be property, value pairs");
+        conditions.add(when);
+        models.add(model);
+        return this;
+    }
+
+    //Adds a part for each side with the given value, turning the model to face that side.
+    //The model should face north, and keeps its texture lined up as it is turned.
+    public BlockstateMultipart Sides(String value, String model){
+        for (int i = 0; i < SIDES.length; i++) {
+            Part(new BlockstateVariants.Variant(model, 0, i * 90, true), SIDES[i], value);
+        }
+        return this;
+    }
+
+    public JsonTemplate Compile(){
+        StringBuilder source = new StringBuilder("{\n  \"multipart\": [\n");
+        for (int i = 0; i < models.size(); i++) {
+            source.append((i == 0) ? "" : ",\n").append("    {\n");
+            String[] when = conditions.get(i);
+            if(when.length > 0) {
+                source.append("      \"when\": {\n");
+                for (int c = 0; c < when.length; c += 2) {
+                    source.append((c == 0) ? "" : ",\n")
+                            .append("        \"").append(when[c]).append("\": \"").append(when[c + 1]).append('"');
+                }
+                source.append("\n      },\n");
+            }
+            source.append("      \"apply\": {\n");
+            BlockstateVariants.AppendModel(source, models.get(i), "        ");
+            source.append("\n      }\n    }");
+        }
+        source.append("\n  ]\n}");
+        return JsonTemplate.Compile(source.toString(), "block");
+    }
+}
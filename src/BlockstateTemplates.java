@@ -0,0 +1,254 @@
+/***
+ * BlockstateTemplates
+ *
+ * This class stores the blockstate JSON files as compiled JsonTemplates, so each one is
+ * only parsed once. It is a centralised place to define the blockstate JSON representation.
+ * The larger variant tables (doors, stairs and trapdoors) are built by BlockstateVariants
+ * from their properties and rotation rules, and the blocks that connect on each side
+ * (fences and walls) are built as multipart blockstates by BlockstateMultipart.
+ *
+ * Every template takes one placeholder: ${block}, the block identifier of the material
+ * the blockstate is for, e.g. mod:block/oak
+ */
+public class BlockstateTemplates {
+    public static final JsonTemplate CUBE = Compile("""
+            {
+              "variants": {
+                "": { "model": "${block}" }
+              }
+            }""");
+
+    public static final JsonTemplate BUTTON = Compile("""
+            {
+              "variants": {
+                "face=floor,facing=east,powered=false":  { "model": "${block}_button", "y": 90 },
+                "face=floor,facing=west,powered=false":  { "model": "${block}_button", "y": 270 },
+                "face=floor,facing=south,powered=false": { "model": "${block}_button", "y": 180 },
+                "face=floor,facing=north,powered=false": { "model": "${block}_button" },
+                "face=wall,facing=east,powered=false":  { "model": "${block}_button", "uvlock": true, "x": 90, "y": 90 },
+                "face=wall,facing=west,powered=false":  { "model": "${block}_button", "uvlock": true, "x": 90, "y": 270 },
+                "face=wall,facing=south,powered=false": { "model": "${block}_button", "uvlock": true, "x": 90, "y": 180 },
+                "face=wall,facing=north,powered=false": { "model": "${block}_button", "uvlock": true, "x": 90 },
+                "face=ceiling,facing=east,powered=false":  { "model": "${block}_button", "x": 180, "y": 270 },
+                "face=ceiling,facing=west,powered=false":  { "model": "${block}_button", "x": 180, "y": 90 },
+                "face=ceiling,facing=south,powered=false": { "model": "${block}_button", "x": 180 },
+                "face=ceiling,facing=north,powered=false": { "model": "${block}_button", "x": 180, "y": 180 },
+                "face=floor,facing=east,powered=true":  { "model": "${block}_button_pressed", "y": 90 },
+                "face=floor,facing=west,powered=true":  { "model": "${block}_button_pressed", "y": 270 },
+                "face=floor,facing=south,powered=true": { "model": "${block}_button_pressed", "y": 180 },
+                "face=floor,facing=north,powered=true": { "model": "${block}_button_pressed" },
+                "face=wall,facing=east,powered=true":  { "model": "${block}_button_pressed", "uvlock": true, "x": 90, "y": 90 },
+                "face=wall,facing=west,powered=true":  { "model": "${block}_button_pressed", "uvlock": true, "x": 90, "y": 270 },
+                "face=wall,facing=south,powered=true": { "model": "${block}_button_pressed", "uvlock": true, "x": 90, "y": 180 },
+                "face=wall,facing=north,powered=true": { "model": "${block}_button_pressed", "uvlock": true, "x": 90 },
+                "face=ceiling,facing=east,powered=true":  { "model": "${block}_button_pressed", "x": 180, "y": 270 },
+                "face=ceiling,facing=west,powered=true":  { "model": "${block}_button_pressed", "x": 180, "y": 90 },
+                "face=ceiling,facing=south,powered=true": { "model": "${block}_button_pressed", "x": 180 },
+                "face=ceiling,facing=north,powered=true": { "model": "${block}_button_pressed", "x": 180, "y": 180 }
+              }
+            }""");
+
+    public static final JsonTemplate DOOR = new BlockstateVariants()
+            .Property("facing", "east", "north", "south", "west")
+            .Property("half", "lower", "upper")
+            .Property("hinge", "left", "right")
+            .Property("open", "false", "true")
+            .Compile(state -> {
+                int y = SideRotation(state.Get("facing"));
+                String model = state.Is("half", "lower") ? "_door_bottom" : "_door_top";
+                boolean left = state.Is("hinge", "left");
+                if(state.Is("open", "false"))
+                    return new BlockstateVariants.Variant(left ? model : model + "_hinge", y);
+                //Open doors swing a quarter turn about their hinge
+                return (left)
+                        ? new BlockstateVariants.Variant(model + "_hinge", y + 90)
+                        : new BlockstateVariants.Variant(model, y + 270);
+            });
+
+    public static final JsonTemplate FENCE = new BlockstateMultipart()
+            .Part(new BlockstateVariants.Variant("_fence_post", 0))
+            .Sides("true", "_fence_side")
+            .Compile();
+
+    public static final JsonTemplate GATE = Compile("""
+            {
+              "variants": {
+                "facing=east,in_wall=false,open=false": {
+                  "uvlock": true,
+                  "y": 270,
+                  "model": "${block}_fence_gate"
+                },
+                "facing=east,in_wall=false,open=true": {
+                  "uvlock": true,
+                  "y": 270,
+                  "model": "${block}_fence_gate_open"
+                },
+                "facing=east,in_wall=true,open=false": {
+                  "uvlock": true,
+                  "y": 270,
+                  "model": "${block}_fence_gate_wall"
+                },
+                "facing=east,in_wall=true,open=true": {
+                  "uvlock": true,
+                  "y": 270,
+                  "model": "${block}_fence_gate_wall_open"
+                },
+                "facing=north,in_wall=false,open=false": {
+                  "uvlock": true,
+                  "y": 180,
+                  "model": "${block}_fence_gate"
+                },
+                "facing=north,in_wall=false,open=true": {
+                  "uvlock": true,
+                  "y": 180,
+                  "model": "${block}_fence_gate_open"
+                },
+                "facing=north,in_wall=true,open=false": {
+                  "uvlock": true,
+                  "y": 180,
+                  "model": "${block}_fence_gate_wall"
+                },
+                "facing=north,in_wall=true,open=true": {
+                  "uvlock": true,
+                  "y": 180,
+                  "model": "${block}_fence_gate_wall_open"
+                },
+                "facing=south,in_wall=false,open=false": {
+                  "uvlock": true,
+                  "model": "${block}_fence_gate"
+                },
+                "facing=south,in_wall=false,open=true": {
+                  "uvlock": true,
+                  "model": "${block}_fence_gate_open"
+                },
+                "facing=south,in_wall=true,open=false": {
+                  "uvlock": true,
+                  "model": "${block}_fence_gate_wall"
+                },
+                "facing=south,in_wall=true,open=true": {
+                  "uvlock": true,
+                  "model": "${block}_fence_gate_wall_open"
+                },
+                "facing=west,in_wall=false,open=false": {
+                  "uvlock": true,
+                  "y": 90,
+                  "model": "${block}_fence_gate"
+                },
+                "facing=west,in_wall=false,open=true": {
+                  "uvlock": true,
+                  "y": 90,
+                  "model": "${block}_fence_gate_open"
+                },
+                "facing=west,in_wall=true,open=false": {
+                  "uvlock": true,
+                  "y": 90,
+                  "model": "${block}_fence_gate_wall"
+                },
+                "facing=west,in_wall=true,open=true": {
+                  "uvlock": true,
+                  "y": 90,
+                  "model": "${block}_fence_gate_wall_open"
+                }
+              }
+            }""");
+
+    public static final JsonTemplate LOG = Compile("""
+            {
+              "variants": {
+                "axis=x": {
+                  "model": "${block}_log_horizontal",
+                  "x": 90,
+                  "y": 90
+                },
+                "axis=y": {
+                  "model": "${block}_log"
+                },
+                "axis=z": {
+                  "model": "${block}_log_horizontal",
+                  "x": 90
+                }
+              }
+            }""");
+
+    public static final JsonTemplate PRESSURE_PLATE = Compile("""
+            {
+              "variants": {
+                "powered=false": { "model": "${block}_pressure_plate" },
+                "powered=true": { "model": "${block}_pressure_plate_down" }
+              }
+            }""");
+
+    public static final JsonTemplate SLAB = Compile("""
+            {
+              "variants": {
+                "type=bottom": {
+                  "model": "${block}_slab"
+                },
+                "type=double": {
+                  "model": "${block}_planks"
+                },
+                "type=top": {
+                  "model": "${block}_slab_top"
+                }
+              }
+            }""");
+
+    public static final JsonTemplate STAIRS = new BlockstateVariants()
+            .Property("facing", "east", "north", "south", "west")
+            .Property("half", "bottom", "top")
+            .Property("shape", "inner_left", "inner_right", "outer_left", "outer_right", "straight")
+            .Compile(state -> {
+                String shape = state.Get("shape");
+                String model = switch (shape) {
+                    case "inner_left", "inner_right" -> "_stairs_inner";
+                    case "outer_left", "outer_right" -> "_stairs_outer";
+                    default -> "_stairs";
+                };
+                int y = SideRotation(state.Get("facing"));
+                int x = 0;
+                //Upside down stairs are flipped, which swaps which way the corner models face
+                if(state.Is("half", "top")) {
+                    x = 180;
+                    if(shape.endsWith("_right"))
+                        y += 90;
+                } else if(shape.endsWith("_left")) {
+                    y += 270;
+                }
+                boolean rotated = x != 0 || y % 360 != 0;
+                return new BlockstateVariants.Variant(model, x, y, rotated);
+            });
+
+    public static final JsonTemplate TRAPDOOR = new BlockstateVariants()
+            .Property("facing", "east", "north", "south", "west")
+            .Property("half", "bottom", "top")
+            .Property("open", "false", "true")
+            .Compile(state -> {
+                //Trapdoors face the other way round to doors and stairs, north is unrotated
+                int y = SideRotation(state.Get("facing")) + 90;
+                if(state.Is("open", "false"))
+                    return new BlockstateVariants.Variant(state.Is("half", "bottom") ? "_trapdoor_bottom" : "_trapdoor_top", y);
+                if(state.Is("half", "bottom"))
+                    return new BlockstateVariants.Variant("_trapdoor_open", y);
+                return new BlockstateVariants.Variant("_trapdoor_open", 180, y + 180, false).KeepY();
+            });
+
+    public static final JsonTemplate WALL = new BlockstateMultipart()
+            .Part(new BlockstateVariants.Variant("_wall_post", 0), "up", "true")
+            .Sides("low", "_wall_side")
+            .Sides("tall", "_wall_side_tall")
+            .Compile();
+
+    //The y rotation of a model facing east when it faces the given way
+    private static int SideRotation(String facing){
+        return switch (facing) {
+            case "south" -> 90;
+            case "west" -> 180;
+            case "north" -> 270;
+            default -> 0;
+        };
+    }
+
+    private static JsonTemplate Compile(String source){
+        return JsonTemplate.Compile(source, "block");
+    }
+}
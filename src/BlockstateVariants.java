@@ -0,0 +1,117 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/***
+ * BlockstateVariants
+ *
+ * This class builds a variants blockstate from the block's properties and a rule,
+ * instead of every variant being written out by hand. Each property is given with its
+ * values, and the rule picks the model and rotation for every combination of them.
+ * The variants are listed in the order the properties and values are given.
+ *
+ * The result is compiled into a JsonTemplate with the ${block} placeholder, the same as
+ * the rest of BlockstateTemplates, so the variants are only worked out once per block type.
+ */
+public class BlockstateVariants {
+    //- The model and rotation for one combination of property values -//
+    public static class Variant {
+        final String model;
+        final int x;
+        final int y;
+        final boolean uvlock;
+        boolean keepY = false;
+
+        //The model is the suffix after the block's identifier, e.g. _door_bottom.
+        //Rotations are in degrees, and are left out of the file when they are 0.
+        public Variant(String model, int x, int y, boolean uvlock){
+            this.model = model;
+            this.x = Math.floorMod(x, 360);
+            this.y = Math.floorMod(y, 360);
+            this.uvlock = uvlock;
+        }
+        public Variant(String model, int y){
+            this(model, 0, y, false);
+        }
+
+        //Writes the y rotation even when it is 0
+        public Variant KeepY(){
+            keepY = true;
+            return this;
+        }
+    }
+
+    //- One combination of property values -//
+    public static class State {
+        private final List<String> names;
+        private final String[] values;
+
+        State(List<String> names, String[] values){
+            this.names = names;
+            this.values = values;
+        }
+
+        public String Get(String property){
+            return values[names.indexOf(property)];
+        }
+        public boolean Is(String property, String value){
+            return Get(property).equals(value);
+        }
+    }
+
+    private final List<String> names = new ArrayList<>();
+    private final List<String[]> domains = new ArrayList<>();
+
+    public BlockstateVariants Property(String name, String... values){
+        names.add(name);
+        domains.add(values);
+        return this;
+    }
+
+    public JsonTemplate Compile(Function<State, Variant> rule){
+        StringBuilder source = new StringBuilder("{\n  \"variants\": {\n");
+        int[] indices = new int[names.size()];
+        boolean first = true;
+        do {
+            String[] values = new String[indices.length];
+            StringBuilder key = new StringBuilder();
+            for (int i = 0; i < indices.length; i++) {
+                values[i] = domains.get(i)[indices[i]];
+                key.append((i == 0) ? "" : ",").append(names.get(i)).append('=').append(values[i]);
+            }
+            Variant variant = rule.apply(new State(names, values));
+            source.append((first) ? "" : ",\n");
+            AppendVariant(source, key, variant);
+            first = false;
+        } while (Next(indices));
+        source.append("\n  }\n}");
+        return JsonTemplate.Compile(source.toString(), "block");
+    }
+
+    private static void AppendVariant(StringBuilder source, CharSequence key, Variant variant){
+        source.append("    \"").append(key).append("\": {\n");
+        AppendModel(source, variant, "      ");
+        source.append("\n    }");
+    }
+
+    //Appends the model and its rotation, one field per line
+    static void AppendModel(StringBuilder source, Variant variant, String indent){
+        source.append(indent).append("\"model\": \"${block}").append(variant.model).append('"');
+        if(variant.x != 0)
+            source.append(",\n").append(indent).append("\"x\": ").append(variant.x);
+        if(variant.y != 0 || variant.keepY)
+            source.append(",\n").append(indent).append("\"y\": ").append(variant.y);
+        if(variant.uvlock)
+            source.append(",\n").append(indent).append("\"uvlock\": true");
+    }
+
+    //Moves on to the next combination, with the last property changing fastest
+    private boolean Next(int[] indices){
+        for (int i = indices.length - 1; i >= 0; i--) {
+            if(++indices[i] < domains.get(i).length)
+                return true;
+            indices[i] = 0;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,36 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/***
+ * DiskOutputSink
+ *
+ * This class writes the Generator's files to disk, through an AssetWriter.
+ * Where each file goes is worked out by an AssetLayout, which puts the assets in the
+ * Fabric assets directory, and datapack files in the data directory next to it.
+ */
+public class DiskOutputSink implements OutputSink {
+    private final AssetLayout layout;
+    private final AssetWriter writer;
+
+    public DiskOutputSink(String parentFileDir, AssetWriter writer){
+        this(new AssetLayout(Paths.get(parentFileDir)), writer);
+    }
+    public DiskOutputSink(AssetLayout layout, AssetWriter writer){
+        this.layout = layout;
+        this.writer = writer;
+    }
+
+    @Override
+    public void Write(String namespace, AssetType type, String name, byte[] content, WriteListener listener) {
+        writer.Write(layout.GetPath(namespace, type, name), content, listener);
+    }
+
+    @Override
+    public void Flush() {
+        writer.Flush();
+    }
+
+    public Path GetPath(String namespace, AssetType type, String name){
+        return layout.GetPath(namespace, type, name);
+    }
+}
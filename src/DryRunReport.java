@@ -0,0 +1,135 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/***
+ * DryRunReport
+ *
+ * This class compares the files a Generator rendered into a MemoryOutputSink against the
+ * files already on disk, without writing anything. Each file is either added (it isn't on
+ * disk yet), changed, identical, or kept: it differs from the rendered file, but the run
+ * would leave it as it is, because existing files are only overwritten in incremental mode.
+ *
+ * Files are compared in parallel. A file whose size differs is changed without being read,
+ * and the rest are memory-mapped and compared byte for byte.
+ */
+public class DryRunReport {
+    public enum Change{
+        ADDED, CHANGED, DIFFERS_KEPT, IDENTICAL
+    }
+
+    public static class FileDiff {
+        //The file's path inside the pack, e.g. assets/{mod}/blockstates/{name}.json
+        public final String packPath;
+        public final Change change;
+        //The size of the file on disk, or 0 if it was added
+        public final long oldSize;
+        //The size of the rendered file, which for a kept file is not what ends up on disk
+        public final long newSize;
+
+        FileDiff(String packPath, Change change, long oldSize, long newSize){
+            this.packPath = packPath;
+            this.change = change;
+            this.oldSize = oldSize;
+            this.newSize = newSize;
+        }
+
+        public long GetByteDelta(){
+            return newSize - oldSize;
+        }
+    }
+
+    private final List<FileDiff> files;
+
+    private DryRunReport(List<FileDiff> files){
+        this.files = files;
+    }
+
+    public static DryRunReport Compare(MemoryOutputSink rendered, AssetLayout layout){
+        return Compare(rendered, layout, false);
+    }
+    //With overwrite, files that differ would be written over, as in an incremental run, and are changed rather than kept
+    public static DryRunReport Compare(MemoryOutputSink rendered, AssetLayout layout, boolean overwrite){
+        Change differs = (overwrite) ? Change.CHANGED : Change.DIFFERS_KEPT;
+        List<FileDiff> files = rendered.GetFiles().entrySet().parallelStream()
+                .map(file -> Compare(file.getKey(), file.getValue(), layout, differs))
+                .sorted(Comparator.comparing(diff -> diff.packPath))
+                .collect(Collectors.toCollection(ArrayList::new));
+        return new DryRunReport(files);
+    }
+
+    public List<FileDiff> GetFiles(){
+        return files;
+    }
+
+    public long Count(Change change){
+        return files.stream().filter(diff -> diff.change == change).count();
+    }
+
+    public long GetByteDelta(Change change){
+        return files.stream().filter(diff -> diff.change == change).mapToLong(FileDiff::GetByteDelta).sum();
+    }
+
+    //A summary of the counts and byte deltas, followed by every added, changed and kept file.
+    //Kept files aren't written, so they have no byte delta.
+    public String Summary(){
+        StringBuilder summary = new StringBuilder()
+                .append(Count(Change.ADDED)).append(" added (").append(Delta(GetByteDelta(Change.ADDED))).append(" bytes), ")
+                .append(Count(Change.CHANGED)).append(" changed (").append(Delta(GetByteDelta(Change.CHANGED))).append(" bytes), ")
+                .append(Count(Change.DIFFERS_KEPT)).append(" differ but are kept, ")
+                .append(Count(Change.IDENTICAL)).append(" identical\n");
+        for (FileDiff diff : files) {
+            switch (diff.change) {
+                case ADDED -> summary.append("  ADDED ").append(diff.packPath).append(' ').append(Delta(diff.GetByteDelta()));
+                case CHANGED -> summary.append("  CHANGED ").append(diff.packPath).append(' ').append(Delta(diff.GetByteDelta()))
+                        .append(" (").append(diff.oldSize).append(" -> ").append(diff.newSize).append(')');
+                case DIFFERS_KEPT -> summary.append("  differs, kept ").append(diff.packPath)
+                        .append(" (").append(diff.oldSize).append(" on disk, ").append(diff.newSize).append(" rendered)");
+                case IDENTICAL -> {
+                    continue;
+                }
+            }
+            summary.append('\n');
+        }
+        return summary.toString();
+    }
+
+    private static String Delta(long bytes){
+        return (bytes >= 0) ? "+" + bytes : String.valueOf(bytes);
+    }
+
+    private static FileDiff Compare(String packPath, byte[] content, AssetLayout layout, Change differs){
+        Path file = layout.GetFile(packPath);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if(size != content.length)
+                return new FileDiff(packPath, differs, size, content.length);
+            MappedByteBuffer existing = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            Change change = (existing.equals(ByteBuffer.wrap(content))) ? Change.IDENTICAL : differs;
+            return new FileDiff(packPath, change, size, content.length);
+        } catch (NoSuchFileException e) {
+            return new FileDiff(packPath, Change.ADDED, 0, content.length);
+        } catch (IOException e) {
+            //A file that can't be read is treated as differing
+            return new FileDiff(packPath, differs, SizeOnDisk(file), content.length);
+        }
+    }
+
+    private static long SizeOnDisk(Path file){
+        try{
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/***
+ * FileAssetWriter
+ *
+ * This class writes each asset to disk as soon as it is given one.
+ * The file is created and written through a single channel (so there is no separate
+ * exists check). Directories aren't checked up front either; one is only created when
+ * opening a file fails because its directory is missing.
+ *
+ * By default existing files are left as they are, but it can be set to overwrite them.
+ */
+public class FileAssetWriter implements AssetWriter {
+    private final OpenOption[] openOptions;
+
+    public FileAssetWriter(){
+        this(false);
+    }
+    public FileAssetWriter(boolean overwrite){
+        openOptions = (overwrite)
+                ? new OpenOption[] {StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE}
+                : new OpenOption[] {StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE};
+    }
+
+    @Override
+    public void Write(Path destination, byte[] content, WriteListener listener) {
+        long start = System.nanoTime();
+        try{
+            try{
+                WriteFile(destination, content);
+            } catch (NoSuchFileException e) {
+                Files.createDirectories(destination.getParent());
+                WriteFile(destination, content);
+            }
+            listener.Written(content.length, System.nanoTime() - start);
+        } catch (FileAlreadyExistsException e) {
+            //Existing files are only overwritten when asked to
+            listener.Skipped();
+        } catch (IOException e) {
+            listener.Failed(e);
+        }
+    }
+
+    @Override
+    public void Flush() {
+        //Nothing is held back, every asset has already been written
+    }
+
+    private void WriteFile(Path destination, byte[] content) throws IOException {
+        try (FileChannel channel = FileChannel.open(destination, openOptions)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/***
+ * GenerationResult
+ *
+ * This class collects what happened to every file of a generation call: whether it was
+ * written, skipped (because it already existed), failed, or cancelled.
+ *
+ * In FAIL_FAST mode the first failure stops the rest of the call. Parts that have not
+ * started yet, and files that have not been sent to the sink yet, are cancelled instead.
+ * In CONTINUE mode everything is still generated, and the failures are gathered up for the report.
+ *
+ * Writers that queue their files report them once they are written, so the result is
+ * only complete once the Generator has been flushed.
+ */
+public class GenerationResult {
+    public enum FailureMode{
+        FAIL_FAST, CONTINUE
+    }
+    public enum Status{
+        WRITTEN, SKIPPED, FAILED, CANCELLED
+    }
+
+    public static class Outcome {
+        //The kind of file, or null when a whole part failed or was cancelled
+        public final AssetType type;
+        public final String name;
+        public final Status status;
+        public final Exception error;
+
+        Outcome(AssetType type, String name, Status status, Exception error){
+            this.type = type;
+            this.name = name;
+            this.status = status;
+            this.error = error;
+        }
+
+        @Override
+        public String toString(){
+            String kind = (type == null) ? "part" : type.name().toLowerCase(Locale.ROOT);
+            return status + " " + kind + " " + name + ((error == null) ? "" : ": " + error);
+        }
+    }
+
+    private final FailureMode mode;
+    private final Queue<Outcome> outcomes = new ConcurrentLinkedQueue<>();
+    private volatile boolean stopped = false;
+
+    public GenerationResult(FailureMode mode){
+        this.mode = mode;
+    }
+
+    //True once a failure has stopped a FAIL_FAST call
+    public boolean IsStopped(){
+        return stopped;
+    }
+
+    public boolean IsSuccessful(){
+        return Count(Status.FAILED) == 0 && Count(Status.CANCELLED) == 0;
+    }
+
+    public List<Outcome> GetOutcomes(){
+        return new ArrayList<>(outcomes);
+    }
+
+    public List<Outcome> GetFailures(){
+        List<Outcome> failures = new ArrayList<>();
+        for (Outcome outcome : outcomes) {
+            if(outcome.status == Status.FAILED)
+                failures.add(outcome);
+        }
+        return failures;
+    }
+
+    public long Count(Status status){
+        long count = 0;
+        for (Outcome outcome : outcomes) {
+            if(outcome.status == status)
+                count++;
+        }
+        return count;
+    }
+
+    //A summary of the counts, followed by every failure
+    public String Report(){
+        StringBuilder report = new StringBuilder()
+                .append(Count(Status.WRITTEN)).append(" written, ")
+                .append(Count(Status.SKIPPED)).append(" skipped, ")
+                .append(Count(Status.FAILED)).append(" failed, ")
+                .append(Count(Status.CANCELLED)).append(" cancelled\n");
+        for (Outcome failure : GetFailures()) {
+            report.append("  ").append(failure).append('\n');
+        }
+        return report.toString();
+    }
+
+    //Returns a listener that records the outcome of a file, and then passes it on
+    WriteListener Listener(AssetType type, String name, WriteListener listener){
+        return new WriteListener() {
+            @Override
+            public void Written(long bytes, long nanos) {
+                Record(new Outcome(type, name, Status.WRITTEN, null));
+                listener.Written(bytes, nanos);
+            }
+            @Override
+            public void Skipped() {
+                Record(new Outcome(type, name, Status.SKIPPED, null));
+                listener.Skipped();
+            }
+            @Override
+            public void Failed(Exception e) {
+                Record(new Outcome(type, name, Status.FAILED, e));
+                listener.Failed(e);
+            }
+        };
+    }
+
+    void Record(Outcome outcome){
+        outcomes.add(outcome);
+        if(outcome.status == Status.FAILED && mode == FailureMode.FAIL_FAST)
+            stopped = true;
+    }
+}
@@ -1,7 +1,10 @@
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /***
@@ -16,886 +19,335 @@ import java.util.Map;
  */
 
 public class Generator {
+    //- The sets that can be generated for a material -//
+    public enum SetType{
+        BUILDING, ARMOUR, TOOL, BUILDING_RECIPES, ARMOUR_RECIPES, TOOL_RECIPES
+    }
+
     private final String MOD_NAME;
-    private final String PARENT_FILE_DIR;
+    private final OutputSink sink;
+    private final GeneratorMetrics metrics;
+    //Whether files are written without the whitespace that only makes them easier to read
+    private final boolean compact;
+    //The set each thread is currently generating, so its files are counted under that set
+    private final ThreadLocal<SetType> currentSet = new ThreadLocal<>();
+    //The result each thread is currently collecting outcomes for, if any
+    private final ThreadLocal<GenerationResult> currentResult = new ThreadLocal<>();
+    //Each thread renders its templates into its own reusable buffer
+    private final ThreadLocal<TemplateBuffer> renderBuffer = ThreadLocal.withInitial(TemplateBuffer::new);
 
     private final char noChar = Character.MIN_VALUE;
     public Generator(String MOD_NAME){
+        this(MOD_NAME, new FileAssetWriter());
+    }
+    public Generator(String MOD_NAME, AssetWriter writer){
+        this(MOD_NAME, new DiskOutputSink(AssetLayout.FromEnvironment(), writer));
+    }
+    public Generator(String MOD_NAME, OutputSink sink){
+        this(MOD_NAME, sink, new GeneratorMetrics());
+    }
+    public Generator(String MOD_NAME, OutputSink sink, GeneratorMetrics metrics){
+        this(MOD_NAME, sink, metrics, false);
+    }
+    public Generator(String MOD_NAME, OutputSink sink, GeneratorMetrics metrics, boolean compact){
         this.MOD_NAME = MOD_NAME;
-        PARENT_FILE_DIR = System.getenv("PATH");
+        this.sink = sink;
+        this.metrics = metrics;
+        this.compact = compact;
     }
 
-    private void WriteToFile(File destFile, String textToWrite){
-        try{
-            if(destFile.createNewFile()) {
-                FileWriter writer = new FileWriter(destFile);
-                writer.write(textToWrite);
-                writer.close();
-            }
-        } catch (IOException e) {
-            System.out.println("IO error writing to file " + destFile.getName() + ".\n");
-            e.printStackTrace();
+    //e.g. the escaped UTF-8 bytes of mod:oak_planks
+    private byte[] IdBytes(String name){
+        return ResourceLocationCache.SHARED.GetBytes(MOD_NAME, "", name);
+    }
+
+    //e.g. the escaped UTF-8 bytes of mod:block/oak_planks
+    private byte[] BlockBytes(String name){
+        return ResourceLocationCache.SHARED.GetBytes(MOD_NAME, "block", name);
+    }
+
+    private void WriteTemplate(AssetType type, String name, JsonTemplate template, String blockName){
+        WriteTemplate(type, name, template, BlockBytes(blockName));
+    }
+    //In compact mode the template's minified version is rendered instead
+    private void WriteTemplate(AssetType type, String name, JsonTemplate template, byte[]... values){
+        long renderStart = System.nanoTime();
+        JsonTemplate format = (compact) ? template.Minified() : template;
+        TemplateBuffer buffer = renderBuffer.get();
+        buffer.Reset();
+        format.Render(buffer, values);
+        Write(type, name, buffer.ToByteArray(), renderStart, format.GetSavedBytes());
+    }
+
+    //Renders a block model, filling in the definition's texture slots in order
+    private void WriteModel(String name, ModelDefinition model, byte[]... textures){
+        long renderStart = System.nanoTime();
+        TemplateBuffer buffer = renderBuffer.get();
+        buffer.Reset();
+        int savedBytes = model.Render(buffer, compact, textures);
+        Write(AssetType.BLOCK_MODEL, name, buffer.ToByteArray(), renderStart, savedBytes);
+    }
+
+    //Returns a writer into the cleared render buffer, laid out for this generator
+    private JsonWriter NewJsonWriter(){
+        TemplateBuffer buffer = renderBuffer.get();
+        buffer.Reset();
+        return new JsonWriter(buffer, compact);
+    }
+    //Sends the document written into the render buffer to the sink
+    private void WriteJson(AssetType type, String name, JsonWriter json, long renderStart){
+        Write(type, name, renderBuffer.get().ToByteArray(), renderStart, json.GetSavedBytes());
+    }
+
+    //Sends a rendered asset to the sink, counting it in the metrics
+    private void Write(AssetType type, String name, byte[] content, long renderStart, int savedBytes){
+        GenerationResult result = currentResult.get();
+        if(result != null && result.IsStopped()) {
+            result.Record(new GenerationResult.Outcome(type, name, GenerationResult.Status.CANCELLED, null));
+            return;
         }
+        WriteListener listener = metrics.Rendered(type, currentSet.get(), System.nanoTime() - renderStart, savedBytes);
+        if(result != null)
+            listener = result.Listener(type, name, listener);
+        sink.Write(MOD_NAME, type, name, content, listener);
+    }
+
+    //Writes out any assets the sink is still holding on to
+    public void Flush(){
+        sink.Flush();
+    }
+
+    public GeneratorMetrics GetMetrics(){
+        return metrics;
     }
 
     //- Generic Block Model File-//
     public void GenerateBlock(String blockName) {
-        File newFile = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + blockName + ".json");
-        String toWrite = "{\n" +
-                " \"parent\": \"minecraft:block/cube_all\",\n" +
-                " \"textures\": {\n" +
-                " \"all\":\"" + MOD_NAME + ":block/" + blockName + "\"\n" +
-                " }\n" +
-                "}";
-
-        WriteToFile(newFile, toWrite);
+        WriteModel(blockName, ModelDefinitions.CUBE_ALL, BlockBytes(blockName));
     }
 
     public void GenerateBlock(String textureName, String fileName) {
-        File newFile = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fileName + ".json");
-        String toWrite = "{\n" +
-                " \"parent\": \"minecraft:block/cube_all\",\n" +
-                " \"textures\": {\n" +
-                " \"all\":\"" + MOD_NAME + ":block/" + textureName + "\"\n" +
-                " }\n" +
-                "}";
-
-        WriteToFile(newFile, toWrite);
+        WriteModel(fileName, ModelDefinitions.CUBE_ALL, BlockBytes(textureName));
     }
 
     //- Item Model Files -//
     public void GenerateBlockItem(String itemName){
-        File newFile = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\item\\" + itemName + ".json");
-        String toWrite = "{\n" +
-                        " \"parent\": \"" + MOD_NAME + ":block/" + itemName + "\"\n" +
-                        "}";
-        WriteToFile(newFile, toWrite);
+        GenerateBlockItem(itemName, itemName);
     }
     public void GenerateBlockItem(String itemName, String fileName){
-        File newFile = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\item\\" + fileName + ".json");
-        String toWrite = "{\n" +
-                " \"parent\": \"" + MOD_NAME + ":block/" + itemName + "\"\n" +
-                "}";
-        WriteToFile(newFile, toWrite);
+        WriteTemplate(AssetType.ITEM_MODEL, fileName, ModelDefinitions.BLOCK_ITEM, BlockBytes(itemName));
     }
     public void GenerateItem(String parent, String itemName){
         //Parent refers to minecraft::item/{parent}
         //e.g. handheld
-        File newFile = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\item\\" + itemName + ".json");
-        String toWrite = "{\n" +
-                " \"parent\": \"item/" + parent +"\",\n" +
-                " \"textures\": {\n" +
-                "  \"layer0\": \"" + MOD_NAME + ":"+ itemName + "\"\n" +
-                " }\n" +
-                "}";
-        WriteToFile(newFile, toWrite);
+        WriteTemplate(AssetType.ITEM_MODEL, itemName, ModelDefinitions.ITEM, JsonWriter.Escape(parent),
+                IdBytes(itemName));
     }
 
     //- Blockstate Files-//
     public void GenerateCubeBlockstate(String blockName){
-        File blockstate = new File(PARENT_FILE_DIR + MOD_NAME + "\\blockstates\\" + blockName + ".json");
-        String toWrite = "{\n" +
-                "  \"variants\": {\n" +
-                "    \"\": { \"model\": \"" + MOD_NAME + ":block/" + blockName + "\" }\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(blockstate, toWrite);
+        WriteTemplate(AssetType.BLOCKSTATE, blockName, BlockstateTemplates.CUBE, blockName);
     }
     public void GenerateButtonBlockstate(String blockName){
-        File blockstate = new File(PARENT_FILE_DIR + MOD_NAME + "\\blockstates\\" + blockName + "_button.json");
-        String toWrite = "{\n" +
-                "  \"variants\": {\n" +
-                "    \"face=floor,facing=east,powered=false\":  { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button\", \"y\": 90 },\n" +
-                "    \"face=floor,facing=west,powered=false\":  { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button\", \"y\": 270 },\n" +
-                "    \"face=floor,facing=south,powered=false\": { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button\", \"y\": 180 },\n" +
-                "    \"face=floor,facing=north,powered=false\": { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button\" },\n" +
-                "    \"face=wall,facing=east,powered=false\":  { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button\", \"uvlock\": true, \"x\": 90, \"y\": 90 },\n" +
-                "    \"face=wall,facing=west,powered=false\":  { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button\", \"uvlock\": true, \"x\": 90, \"y\": 270 },\n" +
-                "    \"face=wall,facing=south,powered=false\": { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button\", \"uvlock\": true, \"x\": 90, \"y\": 180 },\n" +
-                "    \"face=wall,facing=north,powered=false\": { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button\", \"uvlock\": true, \"x\": 90 },\n" +
-                "    \"face=ceiling,facing=east,powered=false\":  { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button\", \"x\": 180, \"y\": 270 },\n" +
-                "    \"face=ceiling,facing=west,powered=false\":  { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button\", \"x\": 180, \"y\": 90 },\n" +
-                "    \"face=ceiling,facing=south,powered=false\": { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button\", \"x\": 180 },\n" +
-                "    \"face=ceiling,facing=north,powered=false\": { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button\", \"x\": 180, \"y\": 180 },\n" +
-                "    \"face=floor,facing=east,powered=true\":  { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button_pressed\", \"y\": 90 },\n" +
-                "    \"face=floor,facing=west,powered=true\":  { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button_pressed\", \"y\": 270 },\n" +
-                "    \"face=floor,facing=south,powered=true\": { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button_pressed\", \"y\": 180 },\n" +
-                "    \"face=floor,facing=north,powered=true\": { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button_pressed\" },\n" +
-                "    \"face=wall,facing=east,powered=true\":  { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button_pressed\", \"uvlock\": true, \"x\": 90, \"y\": 90 },\n" +
-                "    \"face=wall,facing=west,powered=true\":  { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button_pressed\", \"uvlock\": true, \"x\": 90, \"y\": 270 },\n" +
-                "    \"face=wall,facing=south,powered=true\": { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button_pressed\", \"uvlock\": true, \"x\": 90, \"y\": 180 },\n" +
-                "    \"face=wall,facing=north,powered=true\": { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button_pressed\", \"uvlock\": true, \"x\": 90 },\n" +
-                "    \"face=ceiling,facing=east,powered=true\":  { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button_pressed\", \"x\": 180, \"y\": 270 },\n" +
-                "    \"face=ceiling,facing=west,powered=true\":  { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button_pressed\", \"x\": 180, \"y\": 90 },\n" +
-                "    \"face=ceiling,facing=south,powered=true\": { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button_pressed\", \"x\": 180 },\n" +
-                "    \"face=ceiling,facing=north,powered=true\": { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_button_pressed\", \"x\": 180, \"y\": 180 }\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(blockstate, toWrite);
+        WriteTemplate(AssetType.BLOCKSTATE, blockName + "_button", BlockstateTemplates.BUTTON, blockName);
         GenerateBlockItem(blockName+ "_button");
     }
     public void GenerateDoorBlockstate(String blockName){
-        File blockstate = new File(PARENT_FILE_DIR + MOD_NAME + "\\blockstates\\" + blockName + "_door.json");
-        String toWrite = "{\n" +
-                "  \"variants\": {\n" +
-                "    \"facing=east,half=lower,hinge=left,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_bottom\"\n" +
-                "    },\n" +
-                "    \"facing=east,half=lower,hinge=left,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_bottom_hinge\",\n" +
-                "      \"y\": 90\n" +
-                "    },\n" +
-                "    \"facing=east,half=lower,hinge=right,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_bottom_hinge\"\n" +
-                "    },\n" +
-                "    \"facing=east,half=lower,hinge=right,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_bottom\",\n" +
-                "      \"y\": 270\n" +
-                "    },\n" +
-                "    \"facing=east,half=upper,hinge=left,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_top\"\n" +
-                "    },\n" +
-                "    \"facing=east,half=upper,hinge=left,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_top_hinge\",\n" +
-                "      \"y\": 90\n" +
-                "    },\n" +
-                "    \"facing=east,half=upper,hinge=right,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_top_hinge\"\n" +
-                "    },\n" +
-                "    \"facing=east,half=upper,hinge=right,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_top\",\n" +
-                "      \"y\": 270\n" +
-                "    },\n" +
-                "    \"facing=north,half=lower,hinge=left,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_bottom\",\n" +
-                "      \"y\": 270\n" +
-                "    },\n" +
-                "    \"facing=north,half=lower,hinge=left,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_bottom_hinge\"\n" +
-                "    },\n" +
-                "    \"facing=north,half=lower,hinge=right,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_bottom_hinge\",\n" +
-                "      \"y\": 270\n" +
-                "    },\n" +
-                "    \"facing=north,half=lower,hinge=right,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_bottom\",\n" +
-                "      \"y\": 180\n" +
-                "    },\n" +
-                "    \"facing=north,half=upper,hinge=left,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_top\",\n" +
-                "      \"y\": 270\n" +
-                "    },\n" +
-                "    \"facing=north,half=upper,hinge=left,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_top_hinge\"\n" +
-                "    },\n" +
-                "    \"facing=north,half=upper,hinge=right,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_top_hinge\",\n" +
-                "      \"y\": 270\n" +
-                "    },\n" +
-                "    \"facing=north,half=upper,hinge=right,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_top\",\n" +
-                "      \"y\": 180\n" +
-                "    },\n" +
-                "    \"facing=south,half=lower,hinge=left,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_bottom\",\n" +
-                "      \"y\": 90\n" +
-                "    },\n" +
-                "    \"facing=south,half=lower,hinge=left,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_bottom_hinge\",\n" +
-                "      \"y\": 180\n" +
-                "    },\n" +
-                "    \"facing=south,half=lower,hinge=right,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_bottom_hinge\",\n" +
-                "      \"y\": 90\n" +
-                "    },\n" +
-                "    \"facing=south,half=lower,hinge=right,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_bottom\"\n" +
-                "    },\n" +
-                "    \"facing=south,half=upper,hinge=left,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_top\",\n" +
-                "      \"y\": 90\n" +
-                "    },\n" +
-                "    \"facing=south,half=upper,hinge=left,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_top_hinge\",\n" +
-                "      \"y\": 180\n" +
-                "    },\n" +
-                "    \"facing=south,half=upper,hinge=right,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_top_hinge\",\n" +
-                "      \"y\": 90\n" +
-                "    },\n" +
-                "    \"facing=south,half=upper,hinge=right,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_top\"\n" +
-                "    },\n" +
-                "    \"facing=west,half=lower,hinge=left,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_bottom\",\n" +
-                "      \"y\": 180\n" +
-                "    },\n" +
-                "    \"facing=west,half=lower,hinge=left,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_bottom_hinge\",\n" +
-                "      \"y\": 270\n" +
-                "    },\n" +
-                "    \"facing=west,half=lower,hinge=right,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_bottom_hinge\",\n" +
-                "      \"y\": 180\n" +
-                "    },\n" +
-                "    \"facing=west,half=lower,hinge=right,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_bottom\",\n" +
-                "      \"y\": 90\n" +
-                "    },\n" +
-                "    \"facing=west,half=upper,hinge=left,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_top\",\n" +
-                "      \"y\": 180\n" +
-                "    },\n" +
-                "    \"facing=west,half=upper,hinge=left,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_top_hinge\",\n" +
-                "      \"y\": 270\n" +
-                "    },\n" +
-                "    \"facing=west,half=upper,hinge=right,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_top_hinge\",\n" +
-                "      \"y\": 180\n" +
-                "    },\n" +
-                "    \"facing=west,half=upper,hinge=right,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_door_top\",\n" +
-                "      \"y\": 90\n" +
-                "    }\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(blockstate, toWrite);
+        WriteTemplate(AssetType.BLOCKSTATE, blockName + "_door", BlockstateTemplates.DOOR, blockName);
     }
     public void GenerateFenceBlockstate(String blockName){
-        File blockstate = new File(PARENT_FILE_DIR + MOD_NAME + "\\blockstates\\" + blockName + "_fence.json");
-        String toWrite = "{\n" +
-                "  \"multipart\": [\n" +
-                "    {\n" +
-                "      \"apply\": {\n" +
-                "        \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_post\"\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"when\": {\n" +
-                "        \"north\": \"true\"\n" +
-                "      },\n" +
-                "      \"apply\": {\n" +
-                "        \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_side\",\n" +
-                "        \"uvlock\": true\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"when\": {\n" +
-                "        \"east\": \"true\"\n" +
-                "      },\n" +
-                "      \"apply\": {\n" +
-                "        \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_side\",\n" +
-                "        \"y\": 90,\n" +
-                "        \"uvlock\": true\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"when\": {\n" +
-                "        \"south\": \"true\"\n" +
-                "      },\n" +
-                "      \"apply\": {\n" +
-                "        \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_side\",\n" +
-                "        \"y\": 180,\n" +
-                "        \"uvlock\": true\n" +
-                "      }\n" +
-                "    },\n" +
-                "    {\n" +
-                "      \"when\": {\n" +
-                "        \"west\": \"true\"\n" +
-                "      },\n" +
-                "      \"apply\": {\n" +
-                "        \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_side\",\n" +
-                "        \"y\": 270,\n" +
-                "        \"uvlock\": true\n" +
-                "      }\n" +
-                "    }\n" +
-                "  ]\n" +
-                "}";
-        WriteToFile(blockstate, toWrite);
+        WriteTemplate(AssetType.BLOCKSTATE, blockName + "_fence", BlockstateTemplates.FENCE, blockName);
     }
     public void GenerateGateBlockstate(String blockName){
-        File blockstate = new File(PARENT_FILE_DIR + MOD_NAME + "\\blockstates\\" + blockName + "_fence_gate.json");
-        String toWrite = "{\n" +
-                "  \"variants\": {\n" +
-                "    \"facing=east,in_wall=false,open=false\": {\n" +
-                "      \"uvlock\": true,\n" +
-                "      \"y\": 270,\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_gate\"\n" +
-                "    },\n" +
-                "    \"facing=east,in_wall=false,open=true\": {\n" +
-                "      \"uvlock\": true,\n" +
-                "      \"y\": 270,\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_gate_open\"\n" +
-                "    },\n" +
-                "    \"facing=east,in_wall=true,open=false\": {\n" +
-                "      \"uvlock\": true,\n" +
-                "      \"y\": 270,\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_gate_wall\"\n" +
-                "    },\n" +
-                "    \"facing=east,in_wall=true,open=true\": {\n" +
-                "      \"uvlock\": true,\n" +
-                "      \"y\": 270,\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_gate_wall_open\"\n" +
-                "    },\n" +
-                "    \"facing=north,in_wall=false,open=false\": {\n" +
-                "      \"uvlock\": true,\n" +
-                "      \"y\": 180,\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_gate\"\n" +
-                "    },\n" +
-                "    \"facing=north,in_wall=false,open=true\": {\n" +
-                "      \"uvlock\": true,\n" +
-                "      \"y\": 180,\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_gate_open\"\n" +
-                "    },\n" +
-                "    \"facing=north,in_wall=true,open=false\": {\n" +
-                "      \"uvlock\": true,\n" +
-                "      \"y\": 180,\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_gate_wall\"\n" +
-                "    },\n" +
-                "    \"facing=north,in_wall=true,open=true\": {\n" +
-                "      \"uvlock\": true,\n" +
-                "      \"y\": 180,\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_gate_wall_open\"\n" +
-                "    },\n" +
-                "    \"facing=south,in_wall=false,open=false\": {\n" +
-                "      \"uvlock\": true,\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_gate\"\n" +
-                "    },\n" +
-                "    \"facing=south,in_wall=false,open=true\": {\n" +
-                "      \"uvlock\": true,\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_gate_open\"\n" +
-                "    },\n" +
-                "    \"facing=south,in_wall=true,open=false\": {\n" +
-                "      \"uvlock\": true,\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_gate_wall\"\n" +
-                "    },\n" +
-                "    \"facing=south,in_wall=true,open=true\": {\n" +
-                "      \"uvlock\": true,\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_gate_wall_open\"\n" +
-                "    },\n" +
-                "    \"facing=west,in_wall=false,open=false\": {\n" +
-                "      \"uvlock\": true,\n" +
-                "      \"y\": 90,\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_gate\"\n" +
-                "    },\n" +
-                "    \"facing=west,in_wall=false,open=true\": {\n" +
-                "      \"uvlock\": true,\n" +
-                "      \"y\": 90,\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_gate_open\"\n" +
-                "    },\n" +
-                "    \"facing=west,in_wall=true,open=false\": {\n" +
-                "      \"uvlock\": true,\n" +
-                "      \"y\": 90,\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_gate_wall\"\n" +
-                "    },\n" +
-                "    \"facing=west,in_wall=true,open=true\": {\n" +
-                "      \"uvlock\": true,\n" +
-                "      \"y\": 90,\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_fence_gate_wall_open\"\n" +
-                "    }\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(blockstate, toWrite);
+        WriteTemplate(AssetType.BLOCKSTATE, blockName + "_fence_gate", BlockstateTemplates.GATE, blockName);
     }
     public void GenerateLogBlockstate(String blockName){
-        File blockstate = new File(PARENT_FILE_DIR + MOD_NAME + "\\blockstates\\" + blockName + "_log.json");
-        String toWrite = "{\n" +
-                "  \"variants\": {\n" +
-                "    \"axis=x\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_log_horizontal\",\n" +
-                "      \"x\": 90,\n" +
-                "      \"y\": 90\n" +
-                "    },\n" +
-                "    \"axis=y\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_log\"\n" +
-                "    },\n" +
-                "    \"axis=z\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_log_horizontal\",\n" +
-                "      \"x\": 90\n" +
-                "    }\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(blockstate, toWrite);
+        WriteTemplate(AssetType.BLOCKSTATE, blockName + "_log", BlockstateTemplates.LOG, blockName);
     }
     public void GeneratePressurePlateBlockstate(String blockName){
-        File blockstate = new File(PARENT_FILE_DIR + MOD_NAME + "\\blockstates\\" + blockName + "_pressure_plate.json");
-        String toWrite = "{\n" +
-                "  \"variants\": {\n" +
-                "    \"powered=false\": { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_pressure_plate\" },\n" +
-                "    \"powered=true\": { \"model\": \"" + MOD_NAME + ":block/" + blockName + "_pressure_plate_down\" }\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(blockstate, toWrite);
+        WriteTemplate(AssetType.BLOCKSTATE, blockName + "_pressure_plate", BlockstateTemplates.PRESSURE_PLATE, blockName);
     }
     public void GenerateSlabBlockstate(String blockName){
-        File blockstate = new File(PARENT_FILE_DIR + MOD_NAME + "\\blockstates\\" + blockName + "_slab.json");
-        String toWrite = "{\n" +
-                "  \"variants\": {\n" +
-                "    \"type=bottom\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_slab\"\n" +
-                "    },\n" +
-                "    \"type=double\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_planks\"\n" +
-                "    },\n" +
-                "    \"type=top\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_slab_top\"\n" +
-                "    }\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(blockstate, toWrite);
+        WriteTemplate(AssetType.BLOCKSTATE, blockName + "_slab", BlockstateTemplates.SLAB, blockName);
     }
     public void GenerateStairsBlockstate(String blockName){
-        File blockstate = new File(PARENT_FILE_DIR + MOD_NAME + "\\blockstates\\" + blockName + "_stairs.json");
-        String toWrite = "{\n" +
-                "  \"variants\": {\n" +
-                "    \"facing=east,half=bottom,shape=inner_left\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_inner\",\n" +
-                "      \"y\": 270,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=east,half=bottom,shape=inner_right\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_inner\"\n" +
-                "    },\n" +
-                "    \"facing=east,half=bottom,shape=outer_left\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_outer\",\n" +
-                "      \"y\": 270,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=east,half=bottom,shape=outer_right\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_outer\"\n" +
-                "    },\n" +
-                "    \"facing=east,half=bottom,shape=straight\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs\"\n" +
-                "    },\n" +
-                "    \"facing=east,half=top,shape=inner_left\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_inner\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=east,half=top,shape=inner_right\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_inner\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 90,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=east,half=top,shape=outer_left\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_outer\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=east,half=top,shape=outer_right\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_outer\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 90,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=east,half=top,shape=straight\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=north,half=bottom,shape=inner_left\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_inner\",\n" +
-                "      \"y\": 180,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=north,half=bottom,shape=inner_right\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_inner\",\n" +
-                "      \"y\": 270,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=north,half=bottom,shape=outer_left\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_outer\",\n" +
-                "      \"y\": 180,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=north,half=bottom,shape=outer_right\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_outer\",\n" +
-                "      \"y\": 270,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=north,half=bottom,shape=straight\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs\",\n" +
-                "      \"y\": 270,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=north,half=top,shape=inner_left\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_inner\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 270,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=north,half=top,shape=inner_right\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_inner\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=north,half=top,shape=outer_left\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_outer\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 270,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=north,half=top,shape=outer_right\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_outer\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=north,half=top,shape=straight\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 270,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=south,half=bottom,shape=inner_left\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_inner\"\n" +
-                "    },\n" +
-                "    \"facing=south,half=bottom,shape=inner_right\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_inner\",\n" +
-                "      \"y\": 90,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=south,half=bottom,shape=outer_left\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_outer\"\n" +
-                "    },\n" +
-                "    \"facing=south,half=bottom,shape=outer_right\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_outer\",\n" +
-                "      \"y\": 90,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=south,half=bottom,shape=straight\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs\",\n" +
-                "      \"y\": 90,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=south,half=top,shape=inner_left\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_inner\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 90,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=south,half=top,shape=inner_right\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_inner\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 180,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=south,half=top,shape=outer_left\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_outer\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 90,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=south,half=top,shape=outer_right\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_outer\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 180,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=south,half=top,shape=straight\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 90,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=west,half=bottom,shape=inner_left\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_inner\",\n" +
-                "      \"y\": 90,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=west,half=bottom,shape=inner_right\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_inner\",\n" +
-                "      \"y\": 180,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=west,half=bottom,shape=outer_left\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_outer\",\n" +
-                "      \"y\": 90,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=west,half=bottom,shape=outer_right\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_outer\",\n" +
-                "      \"y\": 180,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=west,half=bottom,shape=straight\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs\",\n" +
-                "      \"y\": 180,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=west,half=top,shape=inner_left\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_inner\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 180,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=west,half=top,shape=inner_right\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_inner\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 270,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=west,half=top,shape=outer_left\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_outer\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 180,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=west,half=top,shape=outer_right\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs_outer\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 270,\n" +
-                "      \"uvlock\": true\n" +
-                "    },\n" +
-                "    \"facing=west,half=top,shape=straight\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_stairs\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 180,\n" +
-                "      \"uvlock\": true\n" +
-                "    }\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(blockstate, toWrite);
+        WriteTemplate(AssetType.BLOCKSTATE, blockName + "_stairs", BlockstateTemplates.STAIRS, blockName);
     }
     public void GenerateTrapdoorBlockstate(String blockName){
-        File blockstate = new File(PARENT_FILE_DIR + MOD_NAME + "\\blockstates\\" + blockName + "_trapdoor.json");
-        String toWrite = "{\n" +
-                "  \"variants\": {\n" +
-                "    \"facing=east,half=bottom,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_trapdoor_bottom\",\n" +
-                "      \"y\": 90\n" +
-                "    },\n" +
-                "    \"facing=east,half=bottom,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_trapdoor_open\",\n" +
-                "      \"y\": 90\n" +
-                "    },\n" +
-                "    \"facing=east,half=top,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_trapdoor_top\",\n" +
-                "      \"y\": 90\n" +
-                "    },\n" +
-                "    \"facing=east,half=top,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_trapdoor_open\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 270\n" +
-                "    },\n" +
-                "    \"facing=north,half=bottom,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_trapdoor_bottom\"\n" +
-                "    },\n" +
-                "    \"facing=north,half=bottom,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_trapdoor_open\"\n" +
-                "    },\n" +
-                "    \"facing=north,half=top,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_trapdoor_top\"\n" +
-                "    },\n" +
-                "    \"facing=north,half=top,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_trapdoor_open\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 180\n" +
-                "    },\n" +
-                "    \"facing=south,half=bottom,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_trapdoor_bottom\",\n" +
-                "      \"y\": 180\n" +
-                "    },\n" +
-                "    \"facing=south,half=bottom,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_trapdoor_open\",\n" +
-                "      \"y\": 180\n" +
-                "    },\n" +
-                "    \"facing=south,half=top,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_trapdoor_top\",\n" +
-                "      \"y\": 180\n" +
-                "    },\n" +
-                "    \"facing=south,half=top,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_trapdoor_open\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 0\n" +
-                "    },\n" +
-                "    \"facing=west,half=bottom,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_trapdoor_bottom\",\n" +
-                "      \"y\": 270\n" +
-                "    },\n" +
-                "    \"facing=west,half=bottom,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_trapdoor_open\",\n" +
-                "      \"y\": 270\n" +
-                "    },\n" +
-                "    \"facing=west,half=top,open=false\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_trapdoor_top\",\n" +
-                "      \"y\": 270\n" +
-                "    },\n" +
-                "    \"facing=west,half=top,open=true\": {\n" +
-                "      \"model\": \"" + MOD_NAME + ":block/" + blockName + "_trapdoor_open\",\n" +
-                "      \"x\": 180,\n" +
-                "      \"y\": 90\n" +
-                "    }\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(blockstate, toWrite);
+        WriteTemplate(AssetType.BLOCKSTATE, blockName + "_trapdoor", BlockstateTemplates.TRAPDOOR, blockName);
+    }
+    public void GenerateWallBlockstate(String blockName){
+        WriteTemplate(AssetType.BLOCKSTATE, blockName + "_wall", BlockstateTemplates.WALL, blockName);
     }
 
     //- Generic Loot Table File -//
     public void GenerateLootTable(String fullName){
-        File ltFile = new File(PARENT_FILE_DIR + "..\\data\\" + MOD_NAME + "\\loot_tables\\blocks\\" + fullName + ".json");
-        String toWrite = "{\n" +
-                "  \"type\": \"minecraft:block\",\n" +
-                "  \"pools\": [\n" +
-                "    {\n" +
-                "      \"rolls\": 1,\n" +
-                "      \"entries\": [\n" +
-                "        {\n" +
-                "          \"type\": \"minecraft:item\",\n" +
-                "          \"name\": \"" + MOD_NAME + ":" + fullName +"\"\n" +
-                "        }\n" +
-                "      ],\n" +
-                "      \"conditions\": [\n" +
-                "        {\n" +
-                "          \"condition\": \"minecraft:survives_explosion\"\n" +
-                "        }\n" +
-                "      ]\n" +
-                "    }\n" +
-                "  ]\n" +
-                "}";
-        WriteToFile(ltFile, toWrite);
+        long renderStart = System.nanoTime();
+        JsonWriter json = NewJsonWriter();
+        json.BeginObject()
+                .Field("type", "minecraft:block")
+                .Name("pools").BeginArray()
+                .BeginObject()
+                .Field("rolls", 1)
+                .Name("entries").BeginArray()
+                .BeginObject()
+                .Field("type", "minecraft:item")
+                .EscapedField("name", IdBytes(fullName))
+                .EndObject()
+                .EndArray()
+                .Name("conditions").BeginArray()
+                .BeginObject()
+                .Field("condition", "minecraft:survives_explosion")
+                .EndObject()
+                .EndArray()
+                .EndObject()
+                .EndArray()
+                .EndObject();
+        WriteJson(AssetType.LOOT_TABLE, fullName, json, renderStart);
+    }
+
+    //- Set parts -//
+    //Returns the independent parts of a set, in the order they are generated.
+    //No two parts write the same file, so they can safely be run in any order, or at the same time.
+    public Map<String, Runnable> GetSetParts(SetType set, String blockName){
+        Map<String, Runnable> parts = new LinkedHashMap<>();
+        switch (set) {
+            case BUILDING -> {
+                parts.put("button", () -> GenerateButton(blockName));
+                parts.put("door", () -> GenerateDoor(blockName));
+                parts.put("fence", () -> GenerateFence(blockName));
+                parts.put("gate", () -> GenerateGate(blockName));
+                parts.put("leaves", () -> GenerateLeaves(blockName));
+                //GenerateWood writes the same _log block model as GenerateLog, so they share a part
+                //to keep the log model from GenerateLog.
+                parts.put("log", () -> {
+                    GenerateLog(blockName);
+                    GenerateWood(blockName);
+                });
+                parts.put("planks", () -> GeneratePlanks(blockName));
+                parts.put("pressure_plate", () -> GeneratePressurePlate(blockName));
+                parts.put("sapling", () -> GenerateSapling(blockName));
+                parts.put("slab", () -> GenerateSlab(blockName));
+                parts.put("stairs", () -> GenerateStairs(blockName));
+                parts.put("stick", () -> GenerateItem("handheld", blockName + "_stick"));
+                parts.put("stripped_log", () -> GenerateStrippedLog(blockName));
+                parts.put("stripped_wood", () -> GenerateStrippedWood(blockName));
+                parts.put("trapdoor", () -> GenerateTrapdoor(blockName));
+                parts.put("wall", () -> GenerateWall(blockName));
+            }
+            case ARMOUR -> {
+                parts.put("boots", () -> GenerateItem("generated", blockName + "_boots"));
+                parts.put("chestplate", () -> GenerateItem("generated", blockName + "_chestplate"));
+                parts.put("helmet", () -> GenerateItem("generated", blockName + "_helmet"));
+                parts.put("leggings", () -> GenerateItem("generated", blockName + "_leggings"));
+            }
+            case TOOL -> {
+                parts.put("axe", () -> GenerateItem("handheld", blockName + "_axe"));
+                parts.put("hoe", () -> GenerateItem("handheld", blockName + "_hoe"));
+                parts.put("pickaxe", () -> GenerateItem("handheld", blockName + "_pickaxe"));
+                parts.put("shovel", () -> GenerateItem("handheld", blockName + "_shovel"));
+                parts.put("sword", () -> GenerateItem("handheld", blockName + "_sword"));
+            }
+            case BUILDING_RECIPES -> parts.put("building_recipes", () -> GenerateBuildingSetRecipes(blockName));
+            case ARMOUR_RECIPES -> parts.put("armour_recipes", () -> GenerateArmourSetRecipes(blockName));
+            case TOOL_RECIPES -> parts.put("tool_recipes", () -> GenerateToolSetRecipes(blockName));
+        }
+        parts.replaceAll((name, part) -> InSet(set, part));
+        return parts;
+    }
+    private Runnable InSet(SetType set, Runnable part){
+        return () -> {
+            SetType previousSet = currentSet.get();
+            currentSet.set(set);
+            try{
+                part.run();
+            } finally {
+                currentSet.set(previousSet);
+            }
+        };
+    }
+    public void GenerateSet(SetType set, String blockName){
+        for (Runnable part : GetSetParts(set, blockName).values()) {
+            part.run();
+        }
+    }
+    //Generates the sets, collecting the outcome of every file instead of letting errors escape
+    public GenerationResult GenerateSets(GenerationResult.FailureMode mode, String blockName, SetType... sets){
+        GenerationResult result = new GenerationResult(mode);
+        GenerateSets(result, blockName, sets);
+        return result;
+    }
+    public void GenerateSets(GenerationResult result, String blockName, SetType... sets){
+        for (SetType set : sets) {
+            for (Map.Entry<String, Runnable> part : GetSetParts(set, blockName).entrySet()) {
+                InResult(result, blockName + " " + part.getKey(), part.getValue()).run();
+            }
+        }
+    }
+    //Wraps a part so its files are recorded in the result. Once the result has stopped,
+    //the part is cancelled rather than run, and a part that throws is recorded as failed.
+    Runnable InResult(GenerationResult result, String partName, Runnable part){
+        return () -> {
+            if(result.IsStopped()) {
+                result.Record(new GenerationResult.Outcome(null, partName, GenerationResult.Status.CANCELLED, null));
+                return;
+            }
+            GenerationResult previousResult = currentResult.get();
+            currentResult.set(result);
+            try{
+                part.run();
+            } catch (RuntimeException e) {
+                result.Record(new GenerationResult.Outcome(null, partName, GenerationResult.Status.FAILED, e));
+            } finally {
+                currentResult.set(previousResult);
+            }
+        };
     }
 
     //-- Methods to generate the different parts of a building set --//
     public void GenerateBuildingSet(String blockName){
-        GenerateButton(blockName);
-        GenerateDoor(blockName);
-        GenerateFence(blockName);
-        GenerateGate(blockName);
-        GenerateLeaves(blockName);
-        GenerateLog(blockName);
-        GeneratePlanks(blockName);
-        GeneratePressurePlate(blockName);
-        GenerateSapling(blockName);
-        GenerateSlab(blockName);
-        GenerateStairs(blockName);
-        GenerateItem("handheld", blockName + "_stick");
-        GenerateStrippedLog(blockName);
-        GenerateStrippedWood(blockName);
-        GenerateTrapdoor(blockName);
-        GenerateWood(blockName);
+        GenerateSet(SetType.BUILDING, blockName);
     }
     public void GenerateButton(String blockName){
         String fullName = blockName + "_button";
-        File newFile = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + ".json");
-        String toWrite = "{\n" +
-                "  \"parent\": \"block/button\",\n" +
-                "  \"textures\": {\n" +
-                "    \"texture\": \"" + MOD_NAME + ":block/" + blockName + "_planks\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(newFile, toWrite);
-        newFile = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_pressed.json");
-        toWrite = "{\n" +
-                "  \"parent\": \"block/button_pressed\",\n" +
-                "  \"textures\": {\n" +
-                "    \"texture\": \"" + MOD_NAME + ":block/" + blockName + "_planks\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(newFile, toWrite);
-        newFile = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_inventory.json");
-        toWrite = "{\n" +
-                "  \"parent\": \"block/button_inventory\",\n" +
-                "  \"textures\": {\n" +
-                "    \"texture\": \"" + MOD_NAME + ":block/" + blockName + "_planks\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(newFile, toWrite);
+        byte[] planks = BlockBytes(blockName + "_planks");
+        WriteModel(fullName, ModelDefinitions.BUTTON, planks);
+        WriteModel(fullName + "_pressed", ModelDefinitions.BUTTON_PRESSED, planks);
+        WriteModel(fullName + "_inventory", ModelDefinitions.BUTTON_INVENTORY, planks);
         GenerateBlockItem(blockName + "_button_inventory", blockName + "_button");
         GenerateButtonBlockstate(blockName);
         GenerateLootTable(fullName);
     }
     public void GenerateDoor(String blockName){
         String fullName = blockName + "_door";
-        File doorTop = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_top.json");
-        File doorTopHinge = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_top_hinge.json");
-        File doorBottom = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_bottom.json");
-        File doorBottomHinge = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_bottom_hinge.json");
-        String toWrite = "{\n" +
-                "  \"parent\": \"minecraft:block/door_top\",\n" +
-                "  \"textures\": {\n" +
-                "    \"top\": \"" + MOD_NAME + ":block/" + fullName + "_top\",\n" +
-                "    \"bottom\": \"" + MOD_NAME + ":block/" + fullName + "_bottom\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(doorTop, toWrite);
-        toWrite ="{\n" +
-                "  \"parent\": \"minecraft:block/door_top_rh\",\n" +
-                "  \"textures\": {\n" +
-                "    \"top\": \"" + MOD_NAME + ":block/"+ fullName +"_top\",\n" +
-                "    \"bottom\": \"" + MOD_NAME + ":block/"+ fullName +"_bottom\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(doorTopHinge, toWrite);
-        toWrite = "{\n" +
-                "  \"parent\": \"minecraft:block/door_bottom\",\n" +
-                "  \"textures\": {\n" +
-                "    \"top\": \"" + MOD_NAME + ":block/" + fullName + "_top\",\n" +
-                "    \"bottom\": \"" + MOD_NAME + ":block/" + fullName + "_bottom\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(doorBottom, toWrite);
-        toWrite = "{\n" +
-                "  \"parent\": \"minecraft:block/door_bottom_rh\",\n" +
-                "  \"textures\": {\n" +
-                "    \"top\": \"" + MOD_NAME + ":block/" + fullName + "_top\",\n" +
-                "    \"bottom\": \"" + MOD_NAME + ":block/" + fullName + "_bottom\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(doorBottomHinge, toWrite);
+        byte[] top = BlockBytes(fullName + "_top");
+        byte[] bottom = BlockBytes(fullName + "_bottom");
+        WriteModel(fullName + "_top", ModelDefinitions.DOOR_TOP, top, bottom);
+        WriteModel(fullName + "_top_hinge", ModelDefinitions.DOOR_TOP_RH, top, bottom);
+        WriteModel(fullName + "_bottom", ModelDefinitions.DOOR_BOTTOM, top, bottom);
+        WriteModel(fullName + "_bottom_hinge", ModelDefinitions.DOOR_BOTTOM_RH, top, bottom);
         GenerateItem("generated", fullName);
         GenerateDoorBlockstate(blockName);
         GenerateLootTable(fullName);
     }
     public void GenerateFence(String blockName){
         String fullName = blockName + "_fence";
-        File post = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_post.json");
-        File side = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_side.json");
-        File inv = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_inventory.json");
-        String toWrite = "{\n" +
-                "  \"parent\": \"minecraft:block/fence_post\",\n" +
-                "  \"textures\": {\n" +
-                "    \"texture\": \"" + MOD_NAME + ":block/" + blockName + "_planks\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(post, toWrite);
-        toWrite = "{\n" +
-                "  \"parent\": \"minecraft:block/fence_side\",\n" +
-                "  \"textures\": {\n" +
-                "    \"texture\": \"" + MOD_NAME + ":block/" + blockName + "_planks\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(side, toWrite);
-        toWrite = "{\n" +
-                "  \"parent\": \"minecraft:block/fence_inventory\",\n" +
-                "  \"textures\": {\n" +
-                "    \"texture\": \"" + MOD_NAME + ":block/" + blockName + "_planks\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(inv, toWrite);
-        GenerateBlockItem(fullName);
+        byte[] planks = BlockBytes(blockName + "_planks");
+        WriteModel(fullName + "_post", ModelDefinitions.FENCE_POST, planks);
+        WriteModel(fullName + "_side", ModelDefinitions.FENCE_SIDE, planks);
+        WriteModel(fullName + "_inventory", ModelDefinitions.FENCE_INVENTORY, planks);
+        GenerateBlockItem(fullName + "_inventory", fullName);
         GenerateFenceBlockstate(blockName);
         GenerateLootTable(fullName);
     }
     public void GenerateGate(String blockName){
         String fullName = blockName + "_fence_gate";
-        File gate = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + ".json");
-        File open = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_open.json");
-        String toWrite = "{\n" +
-                "  \"parent\": \"minecraft:block/template_fence_gate\",\n" +
-                "  \"textures\": {\n" +
-                "    \"texture\": \"" + MOD_NAME + ":block/" + blockName + "_planks\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(gate, toWrite);
-        toWrite = "{\n" +
-                "  \"parent\": \"minecraft:block/template_fence_gate_open\",\n" +
-                "  \"textures\": {\n" +
-                "    \"texture\": \"" + MOD_NAME + ":block/" + blockName + "_planks\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(open, toWrite);
+        byte[] planks = BlockBytes(blockName + "_planks");
+        WriteModel(fullName, ModelDefinitions.FENCE_GATE, planks);
+        WriteModel(fullName + "_open", ModelDefinitions.FENCE_GATE_OPEN, planks);
+        //Used when the gate is placed between two walls
+        WriteModel(fullName + "_wall", ModelDefinitions.FENCE_GATE_WALL, planks);
+        WriteModel(fullName + "_wall_open", ModelDefinitions.FENCE_GATE_WALL_OPEN, planks);
         GenerateBlockItem(fullName);
         GenerateGateBlockstate(blockName);
         GenerateLootTable(fullName);
@@ -909,24 +361,10 @@ public class Generator {
     }
     public void GenerateLog(String blockName){
         String fullName = blockName + "_log";
-        File newFile = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + ".json");
-        String toWrite = "{\n" +
-                "\"parent\": \"minecraft:block/cube_column\",\n" +
-                "  \"textures\": {\n" +
-                "    \"end\": \"" + MOD_NAME + ":block/" + fullName + "_top\",\n" +
-                "    \"side\": \"" + MOD_NAME + ":block/" + fullName + "\"\n" +
-                " }\n" +
-                "}";
-        WriteToFile(newFile, toWrite);
-        newFile = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + ".json");
-        toWrite = "{\n" +
-                "\"parent\": \"minecraft:block/cube_column_horizontal\",\n" +
-                "  \"textures\": {\n" +
-                "    \"end\": \"" + MOD_NAME + ":block/" + fullName + "_top\",\n" +
-                "    \"side\": \"" + MOD_NAME + ":block/" + fullName + "\"\n" +
-                " }\n" +
-                "}";
-        WriteToFile(newFile, toWrite);
+        byte[] end = BlockBytes(fullName + "_top");
+        byte[] side = BlockBytes(fullName);
+        WriteModel(fullName, ModelDefinitions.CUBE_COLUMN, end, side);
+        WriteModel(fullName + "_horizontal", ModelDefinitions.CUBE_COLUMN_HORIZONTAL, end, side);
         GenerateBlockItem(fullName);
         GenerateLogBlockstate(blockName);
         GenerateLootTable(fullName);
@@ -940,114 +378,42 @@ public class Generator {
     }
     public void GeneratePressurePlate(String blockName){
         String fullName = blockName + "_pressure_plate";
-        File plateUp = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + ".json");
-        File plateDown = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_down.json");
-        String toWrite = "{\n" +
-                "  \"parent\": \"block/pressure_plate_up\",\n" +
-                "  \"textures\": {\n" +
-                "    \"texture\": \"" + MOD_NAME + ":block/" + blockName + "_planks\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(plateUp, toWrite);
-        toWrite = "{\n" +
-                "  \"parent\": \"block/pressure_plate_down\",\n" +
-                "  \"textures\": {\n" +
-                "    \"texture\": \"" + MOD_NAME + ":block/" + blockName + "_planks\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(plateDown, toWrite);
+        byte[] planks = BlockBytes(blockName + "_planks");
+        WriteModel(fullName, ModelDefinitions.PRESSURE_PLATE_UP, planks);
+        WriteModel(fullName + "_down", ModelDefinitions.PRESSURE_PLATE_DOWN, planks);
         GenerateBlockItem(fullName);
         GeneratePressurePlateBlockstate(blockName);
         GenerateLootTable(fullName);
     }
     public void GenerateSapling(String blockName){
         String fullName = blockName + "_sapling";
-        File newFile = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + ".json");
-        String toWrite = "";
-        WriteToFile(newFile, toWrite);
+        WriteModel(fullName, ModelDefinitions.CROSS, BlockBytes(fullName));
     }
     public void GenerateSlab(String blockName){
         String fullName = blockName + "_slab";
-        File regular = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + ".json");
-        File top = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_top.json");
-        String toWrite = "{\n" +
-                "  \"parent\": \"minecraft:block/slab\",\n" +
-                "  \"textures\": {\n" +
-                "    \"bottom\": \"" + MOD_NAME + ":block/" + blockName + "_planks\",\n" +
-                "    \"top\": \"" + MOD_NAME + ":block/" + blockName + "_planks\",\n" +
-                "    \"side\": \"" + MOD_NAME + ":block/" + blockName + "_planks\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(regular, toWrite);
-        toWrite = "{\n" +
-                "  \"parent\": \"minecraft:block/slab_top\",\n" +
-                "  \"textures\": {\n" +
-                "    \"bottom\": \"" + MOD_NAME + ":block/" + blockName + "_planks\",\n" +
-                "    \"top\": \"" + MOD_NAME + ":block/" + blockName + "_planks\",\n" +
-                "    \"side\": \"" + MOD_NAME + ":block/" + blockName + "_planks\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(top, toWrite);
+        byte[] planks = BlockBytes(blockName + "_planks");
+        WriteModel(fullName, ModelDefinitions.SLAB, planks, planks, planks);
+        WriteModel(fullName + "_top", ModelDefinitions.SLAB_TOP, planks, planks, planks);
         GenerateBlockItem(fullName);
         GenerateSlabBlockstate(blockName);
         GenerateLootTable(fullName);
     }
     public void GenerateStairs(String blockName){
         String fullName = blockName + "_stairs";
-        File stairs = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + ".json");
-        File inner = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_inner.json");
-        File outer = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_outer.json");
-        String toWrite = "{\n" +
-                "  \"parent\": \"minecraft:block/stairs\",\n" +
-                "  \"textures\": {\n" +
-                "    \"bottom\": \"" + MOD_NAME + ":block/" + blockName + "_planks\",\n" +
-                "    \"top\": \"" + MOD_NAME + ":block/" + blockName + "_planks\",\n" +
-                "    \"side\": \"" + MOD_NAME + ":block/" + blockName + "_planks\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(stairs, toWrite);
-        toWrite = "{\n" +
-                "  \"parent\": \"minecraft:block/inner_stairs\",\n" +
-                "  \"textures\": {\n" +
-                "    \"bottom\": \"" + MOD_NAME + ":block/" + blockName + "_planks\",\n" +
-                "    \"top\": \"" + MOD_NAME + ":block/" + blockName +"_planks\",\n" +
-                "    \"side\": \"" + MOD_NAME + ":block/" + blockName +"_planks\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(inner, toWrite);
-        toWrite = "{\n" +
-                "  \"parent\": \"minecraft:block/outer_stairs\",\n" +
-                "  \"textures\": {\n" +
-                "    \"bottom\": \"" + MOD_NAME + ":block/" + blockName +"_planks\",\n" +
-                "    \"top\": \"" + MOD_NAME + ":block/" + blockName +"_planks\",\n" +
-                "    \"side\": \"" + MOD_NAME + ":block/" + blockName +"_planks\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(outer, toWrite);
+        byte[] planks = BlockBytes(blockName + "_planks");
+        WriteModel(fullName, ModelDefinitions.STAIRS, planks, planks, planks);
+        WriteModel(fullName + "_inner", ModelDefinitions.INNER_STAIRS, planks, planks, planks);
+        WriteModel(fullName + "_outer", ModelDefinitions.OUTER_STAIRS, planks, planks, planks);
         GenerateBlockItem(fullName);
         GenerateStairsBlockstate(blockName);
         GenerateLootTable(fullName);
     }
     public void GenerateStrippedLog(String blockName){
         String fullName = "stripped_" + blockName + "_log";
-        File newFile = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + ".json");
-        String toWrite = "{\n" +
-                "\"parent\": \"minecraft:block/cube_column\",\n" +
-                "  \"textures\": {\n" +
-                "    \"end\": \"" + MOD_NAME + ":block/" + fullName + "_top\",\n" +
-                "    \"side\": \"" + MOD_NAME + ":block/" + fullName + "\"\n" +
-                " }\n" +
-                "}";
-        WriteToFile(newFile, toWrite);
-        newFile = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_horizontal.json");
-        toWrite = "{\n" +
-                "\"parent\": \"minecraft:block/cube_column_horizontal\",\n" +
-                "  \"textures\": {\n" +
-                "    \"end\": \"" + MOD_NAME + ":block/" + fullName + "_top\",\n" +
-                "    \"side\": \"" + MOD_NAME + ":block/" + fullName + "\"\n" +
-                " }\n" +
-                "}";
-        WriteToFile(newFile, toWrite);
+        byte[] end = BlockBytes(fullName + "_top");
+        byte[] side = BlockBytes(fullName);
+        WriteModel(fullName, ModelDefinitions.CUBE_COLUMN, end, side);
+        WriteModel(fullName + "_horizontal", ModelDefinitions.CUBE_COLUMN_HORIZONTAL, end, side);
         GenerateBlockItem(fullName);
         GenerateLogBlockstate("stripped_" + blockName);
         GenerateLootTable(fullName);
@@ -1061,37 +427,29 @@ public class Generator {
     }
     public void GenerateTrapdoor(String blockName){
         String fullName = blockName + "_trapdoor";
-        File bottom = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_bottom.json");
-        File top = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_top.json");
-        File open = new File(PARENT_FILE_DIR + MOD_NAME + "\\models\\block\\" + fullName + "_open.json");
-        String toWrite = "{\n" +
-                "  \"parent\": \"minecraft:block/template_trapdoor_bottom\",\n" +
-                "  \"textures\": {\n" +
-                "    \"texture\": \"" + MOD_NAME + ":block/" + fullName + "\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(bottom, toWrite);
-        toWrite = "{\n" +
-                "  \"parent\": \"minecraft:block/template_trapdoor_top\",\n" +
-                "  \"textures\": {\n" +
-                "    \"texture\": \"" + MOD_NAME + ":block/" + fullName + "\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(top, toWrite);
-        toWrite = "{\n" +
-                "  \"parent\": \"minecraft:block/template_trapdoor_open\",\n" +
-                "  \"textures\": {\n" +
-                "    \"texture\": \"" + MOD_NAME + ":block/" + fullName + "\"\n" +
-                "  }\n" +
-                "}";
-        WriteToFile(open, toWrite);
-        GenerateBlockItem(fullName);
+        byte[] texture = BlockBytes(fullName);
+        WriteModel(fullName + "_bottom", ModelDefinitions.TRAPDOOR_BOTTOM, texture);
+        WriteModel(fullName + "_top", ModelDefinitions.TRAPDOOR_TOP, texture);
+        WriteModel(fullName + "_open", ModelDefinitions.TRAPDOOR_OPEN, texture);
+        GenerateBlockItem(fullName + "_bottom", fullName);
         GenerateTrapdoorBlockstate(blockName);
         GenerateLootTable(fullName);
     }
+    public void GenerateWall(String blockName){
+        //Walls are crafted from logs, so they use the log texture
+        String fullName = blockName + "_wall";
+        byte[] texture = BlockBytes(blockName + "_log");
+        WriteModel(fullName + "_post", ModelDefinitions.WALL_POST, texture);
+        WriteModel(fullName + "_side", ModelDefinitions.WALL_SIDE, texture);
+        WriteModel(fullName + "_side_tall", ModelDefinitions.WALL_SIDE_TALL, texture);
+        WriteModel(fullName + "_inventory", ModelDefinitions.WALL_INVENTORY, texture);
+        GenerateBlockItem(fullName + "_inventory", fullName);
+        GenerateWallBlockstate(blockName);
+        GenerateLootTable(fullName);
+    }
     public void GenerateWood(String blockName){
         String fullName = blockName + "_wood";
-        GenerateBlock(blockName + "_log");
+        GenerateBlock(blockName + "_log", fullName);
         GenerateBlockItem(fullName);
         GenerateCubeBlockstate(fullName);
         GenerateLootTable(fullName);
@@ -1099,138 +457,45 @@ public class Generator {
 
     //- Method to generate the different parts of an Item Set-//
     public void GenerateToolSet(String blockName){
-        GenerateItem("handheld", blockName + "_axe");
-        GenerateItem("handheld", blockName + "_hoe");
-        GenerateItem("handheld", blockName + "_pickaxe");
-        GenerateItem("handheld", blockName + "_shovel");
-        GenerateItem("handheld", blockName + "_sword");
+        GenerateSet(SetType.TOOL, blockName);
     }
 
     //- Method to generate an Armour Set -//
     public void GenerateArmourSet(String blockName){
-        GenerateItem("generated", blockName + "_boots");
-        GenerateItem("generated", blockName + "_chestplate");
-        GenerateItem("generated", blockName + "_helmet");
-        GenerateItem("generated", blockName + "_leggings");
+        GenerateSet(SetType.ARMOUR, blockName);
     }
 
     //- Crafting recipe generation methods-//
     public void GenerateShapelessCraftingRecipe(RecipeItem ingredient, RecipeItem result){
-        File newFile = new File(PARENT_FILE_DIR + "..\\data\\" + MOD_NAME + "\\recipes\\" + result.name + ".json");
-        String toWrite = "{\n" +
-                "  \"type\": \"minecraft:crafting_shapeless\",\n" +
-                "  \"ingredients\": [\n" +
-                "    {\n" +
-                "      \"" + ingredient.GetTag() + "\":\"" + MOD_NAME + ":" + ingredient.name + "\",\n" +
-                "      \"count\": " + ingredient.count + "\n" +
-                "    }\n" +
-                "  ],\n" +
-                "  \"result\": {\n" +
-                "    \"" + result.GetTag() + "\": \"" + MOD_NAME + ":" + result.name +"\",\n" +
-                "    \"count\": " + result.count +
-                "  }\n" +
-                "}";
-        WriteToFile(newFile, toWrite);
+        GenerateShapelessCraftingRecipe(ingredient, result, null);
     }
     public void GenerateShapelessCraftingRecipe(RecipeItem ingredient, RecipeItem result, String group){
-        File newFile = new File(PARENT_FILE_DIR + "..\\data\\" + MOD_NAME + "\\recipes\\" + result.name + ".json");
-        String toWrite = "{\n" +
-                "  \"type\": \"minecraft:crafting_shapeless\",\n" +
-                "  \"group\": \"" + group + "\",\n" +
-                "  \"ingredients\": [\n" +
-                "    {\n" +
-                "      \"" + ingredient.GetTag()  + "\":\""+ MOD_NAME + ":" + ingredient.name + "\",\n" +
-                "      \"count\": " + ingredient.count + "\n" +
-                "    }\n" +
-                "  ],\n" +
-                "  \"result\": {\n" +
-                "    \"" + result.GetTag() + "\": \"" + MOD_NAME + ":" + result.name +"\",\n" +
-                "    \"count\": " + result.count +
-                "  }\n" +
-                "}";
-        WriteToFile(newFile, toWrite);
+        long renderStart = System.nanoTime();
+        JsonWriter json = NewJsonWriter();
+        RecipeSerializer.WriteShapeless(json, MOD_NAME, ingredient, result, group);
+        WriteJson(AssetType.RECIPE, result.name, json, renderStart);
     }
 
     public void GenerateShapedCraftingRecipe(RecipeItem[] ingredients, RecipeItem result, Character[] recipe){
-        File newFile = new File(PARENT_FILE_DIR + "..\\data\\" + MOD_NAME + "\\recipes\\" + result.name + ".json");
-
-        String toWrite = "{\n" +
-                "  \"type\": \"minecraft:crafting_shaped\",\n" +
-                "  \"pattern\": [\n";
-        for (int i = 0; i < 3; ++i){
-            if(recipe[i * 3] == '\0' && recipe[(i * 3) + 1] == '\0' && recipe[(i * 3) + 2] == '\0')
-                continue;
-            if(i != 0){
-                toWrite += ",\n";
-            }
-            toWrite += "    \"";
-            for(int j = i * 3; j < (i*3) + 3; ++j){
-                if(recipe[j] == '\0')
-                    continue;
-                toWrite += recipe[j];
-            }
-            toWrite += ("\"");
-        }
-        toWrite +=
-                "\n  ],\n" +
-                        "  \"key\": {\n";
-        int count = 0;
-        for (int i = 0; i < ingredients.length; i++) {
-            //Add all of the ingredients to the keys
-            toWrite +=
-                    "    \"" + ingredients[i].symbol + "\": {\n" +
-                            "      \"" + ingredients[i].GetTag() +"\": \"" + MOD_NAME + ":" + ingredients[i].name + "\"\n" +
-                            ((i < ingredients.length-1) ? ("    },\n") : ("    }\n"));
-        }
-        //Add the resulting item, and count;
-        toWrite +=
-                "  },\n" +
-                        "  \"result\": {\n" +
-                        "    \"item\": \"" + MOD_NAME + ":" + result.name + "\",\n" +
-                        "    \"count\": " + result.count + "\n" +
-                        "  }\n" +
-                        "}";
-        WriteToFile(newFile, toWrite);
+        GenerateShapedCraftingRecipe(ingredients, result, recipe, null);
     }
     public void GenerateShapedCraftingRecipe(RecipeItem[] ingredients, RecipeItem result, Character[] recipe, String groupName) {
-        File newFile = new File(PARENT_FILE_DIR + "..\\data\\" + MOD_NAME + "\\recipes\\" + result.name + ".json");
-        String toWrite = "{\n" +
-                "  \"type\": \"minecraft:crafting_shaped\",\n" +
-                "\"group\": \"" + groupName + "\",\n" +
-                "  \"pattern\": [\n";
-                for (int i = 0; i < 3; ++i){
-                    if(recipe[i * 3] == '\0' && recipe[(i * 3) + 1] == '\0' && recipe[(i * 3) + 2] == '\0')
-                        continue;
-                    if(i != 0){
-                        toWrite += ",\n";
-                    }
-                    toWrite += "    \"";
-                    for(int j = i * 3; j < (i*3) + 3; ++j){
-                        if(recipe[j] == '\0')
-                            continue;
-                        toWrite += recipe[j];
-                    }
-                    toWrite += ("\"");
-                }
-                toWrite +=
-                    "\n  ],\n" +
-                    "  \"key\": {\n";
-        for (int i = 0; i < ingredients.length; i++) {
-            //Add all of the ingredients to the keys
-            toWrite +=
-                    "    \"" + ingredients[i].symbol + "\": {\n" +
-                    "      \"" + ingredients[i].GetTag() +"\": \"" + MOD_NAME + ":" + ingredients[i].name + "\"\n" +
-                    ((i < ingredients.length-1) ? ("    },\n") : ("    }\n"));
-        }
-        //Add the resulting item, and count;
-        toWrite +=
-                "  },\n" +
-                        "  \"result\": {\n" +
-                        "    \"item\": \"" + MOD_NAME + ":" + result.name + "\",\n" +
-                        "    \"count\": " + result.count + "\n" +
-                        "  }\n" +
-                        "}";
-        WriteToFile(newFile, toWrite);
+        GenerateShapedCraftingRecipe(ingredients, result, Recipes.TrimPattern(recipe), groupName);
+    }
+    public void GenerateShapedCraftingRecipe(RecipeItem[] ingredients, RecipeItem result, Recipes.CraftableItems item){
+        GenerateShapedCraftingRecipe(ingredients, result, item, null);
+    }
+    public void GenerateShapedCraftingRecipe(RecipeItem[] ingredients, RecipeItem result, Recipes.CraftableItems item, String groupName){
+        long renderStart = System.nanoTime();
+        JsonWriter json = NewJsonWriter();
+        RecipeSerializer.WriteShaped(json, MOD_NAME, ingredients, result, item, groupName);
+        WriteJson(AssetType.RECIPE, result.name, json, renderStart);
+    }
+    private void GenerateShapedCraftingRecipe(RecipeItem[] ingredients, RecipeItem result, List<String> pattern, String groupName) {
+        long renderStart = System.nanoTime();
+        JsonWriter json = NewJsonWriter();
+        RecipeSerializer.WriteShaped(json, MOD_NAME, ingredients, result, pattern, groupName);
+        WriteJson(AssetType.RECIPE, result.name, json, renderStart);
     }
 
     public void GenerateBuildingSetRecipes(String woodName){
@@ -1240,60 +505,223 @@ public class Generator {
 
         //- Generate all of the Shaped BuildingSet Recipes-//
         GenerateShapedCraftingRecipe(new RecipeItem[]{new RecipeItem('#', woodName + "_planks")}
-                , new RecipeItem(woodName+ "_door", 3), Recipes.GetRecipe(Recipes.CraftableItems.DOOR));
+                , new RecipeItem(woodName+ "_door", 3), Recipes.CraftableItems.DOOR);
         GenerateShapedCraftingRecipe(new RecipeItem[] {new RecipeItem('#', woodName + "_stick"), new RecipeItem('W', woodName + "_planks")}
-                , new RecipeItem(woodName+ "_fence", 3), Recipes.GetRecipe(Recipes.CraftableItems.FENCE));
+                , new RecipeItem(woodName+ "_fence", 3), Recipes.CraftableItems.FENCE);
         GenerateShapedCraftingRecipe(new RecipeItem[] {new RecipeItem('#', woodName + "_stick"), new RecipeItem('W', woodName + "_planks")}
-                , new RecipeItem(woodName+ "_fence_gate"), Recipes.GetRecipe(Recipes.CraftableItems.FENCE_GATE));
+                , new RecipeItem(woodName+ "_fence_gate"), Recipes.CraftableItems.FENCE_GATE);
         GenerateShapedCraftingRecipe(new RecipeItem[] {new RecipeItem('#', woodName + "_planks")}
-                , new RecipeItem(woodName+ "_pressure_plate"), Recipes.GetRecipe(Recipes.CraftableItems.PRESSURE_PLATE));
+                , new RecipeItem(woodName+ "_pressure_plate"), Recipes.CraftableItems.PRESSURE_PLATE);
         GenerateShapedCraftingRecipe(new RecipeItem[] {new RecipeItem('#', woodName + "_planks")}
-                , new RecipeItem(woodName+ "_slab", 6), Recipes.GetRecipe(Recipes.CraftableItems.SLAB));
+                , new RecipeItem(woodName+ "_slab", 6), Recipes.CraftableItems.SLAB);
         GenerateShapedCraftingRecipe(new RecipeItem[] {new RecipeItem('#', woodName + "_planks")}
-                , new RecipeItem(woodName+ "_stairs", 4), Recipes.GetRecipe(Recipes.CraftableItems.STAIRS));
+                , new RecipeItem(woodName+ "_stairs", 4), Recipes.CraftableItems.STAIRS);
         GenerateShapedCraftingRecipe(new RecipeItem[] {new RecipeItem('#', woodName + "_planks")}
-                , new RecipeItem(woodName+ "_stick", 2), Recipes.GetRecipe(Recipes.CraftableItems.STICK));
+                , new RecipeItem(woodName+ "_stick", 2), Recipes.CraftableItems.STICK);
         GenerateShapedCraftingRecipe(new RecipeItem[] {new RecipeItem('#', "stripped_" + woodName + "_log")}
-                , new RecipeItem("stripped_" + woodName + "_wood", 3), Recipes.GetRecipe(Recipes.CraftableItems.STRIPPED_WOOD));
+                , new RecipeItem("stripped_" + woodName + "_wood", 3), Recipes.CraftableItems.STRIPPED_WOOD);
         GenerateShapedCraftingRecipe(new RecipeItem[] {new RecipeItem('#', woodName + "_planks")}
-                , new RecipeItem(woodName+ "_trapdoor", 2), Recipes.GetRecipe(Recipes.CraftableItems.TRAPDOOR));
+                , new RecipeItem(woodName+ "_trapdoor", 2), Recipes.CraftableItems.TRAPDOOR);
         GenerateShapedCraftingRecipe(new RecipeItem[] {new RecipeItem('#', woodName + "_log")}
-                , new RecipeItem(woodName+ "_wall", 6), Recipes.GetRecipe(Recipes.CraftableItems.WALL));
+                , new RecipeItem(woodName+ "_wall", 6), Recipes.CraftableItems.WALL);
         GenerateShapedCraftingRecipe(new RecipeItem[] {new RecipeItem('#', woodName + "_log")}
-                , new RecipeItem(woodName+ "_wood", 3), Recipes.GetRecipe(Recipes.CraftableItems.WOOD));
+                , new RecipeItem(woodName+ "_wood", 3), Recipes.CraftableItems.WOOD);
     }
     public void GenerateArmourSetRecipes(String blockName){
         GenerateShapedCraftingRecipe(new RecipeItem[]{new RecipeItem('X', blockName)}
-                , new RecipeItem(blockName+ "_boots"), Recipes.GetRecipe(Recipes.CraftableItems.BOOTS));
+                , new RecipeItem(blockName+ "_boots"), Recipes.CraftableItems.BOOTS);
         GenerateShapedCraftingRecipe(new RecipeItem[]{new RecipeItem('X', blockName)}
-                , new RecipeItem(blockName+ "_chestplate"), Recipes.GetRecipe(Recipes.CraftableItems.CHESTPLATE));
+                , new RecipeItem(blockName+ "_chestplate"), Recipes.CraftableItems.CHESTPLATE);
         GenerateShapedCraftingRecipe(new RecipeItem[]{new RecipeItem('X', blockName)}
-                , new RecipeItem(blockName+ "_helmet"), Recipes.GetRecipe(Recipes.CraftableItems.HELMET));
+                , new RecipeItem(blockName+ "_helmet"), Recipes.CraftableItems.HELMET);
         GenerateShapedCraftingRecipe(new RecipeItem[]{new RecipeItem('X', blockName)}
-                , new RecipeItem(blockName+ "_leggings"), Recipes.GetRecipe(Recipes.CraftableItems.LEGGINGS));
+                , new RecipeItem(blockName+ "_leggings"), Recipes.CraftableItems.LEGGINGS);
     }
     public void GenerateToolSetRecipes(String blockName){
         GenerateShapedCraftingRecipe(new RecipeItem[]{new RecipeItem('X', blockName), new RecipeItem('#', blockName +"_stick")}
-                , new RecipeItem(blockName+ "_axe", 3), Recipes.GetRecipe(Recipes.CraftableItems.AXE));
+                , new RecipeItem(blockName+ "_axe", 3), Recipes.CraftableItems.AXE);
         GenerateShapedCraftingRecipe(new RecipeItem[]{new RecipeItem('X', blockName), new RecipeItem('#', blockName + "_stick")}
-                , new RecipeItem(blockName+ "_hoe", 3), Recipes.GetRecipe(Recipes.CraftableItems.HOE));
+                , new RecipeItem(blockName+ "_hoe", 3), Recipes.CraftableItems.HOE);
         GenerateShapedCraftingRecipe(new RecipeItem[]{new RecipeItem('X', blockName), new RecipeItem('#', blockName + "_stick")}
-                , new RecipeItem(blockName+ "_pickaxe", 3), Recipes.GetRecipe(Recipes.CraftableItems.PICKAXE));
+                , new RecipeItem(blockName+ "_pickaxe", 3), Recipes.CraftableItems.PICKAXE);
         GenerateShapedCraftingRecipe(new RecipeItem[]{new RecipeItem('X', blockName), new RecipeItem('#', blockName + "_stick")}
-                , new RecipeItem(blockName+ "_shovel", 3), Recipes.GetRecipe(Recipes.CraftableItems.SHOVEL));
+                , new RecipeItem(blockName+ "_shovel", 3), Recipes.CraftableItems.SHOVEL);
         GenerateShapedCraftingRecipe(new RecipeItem[]{new RecipeItem('X', blockName), new RecipeItem('#', blockName + "_stick")}
-                , new RecipeItem(blockName+ "_sword", 3), Recipes.GetRecipe(Recipes.CraftableItems.SWORD));
+                , new RecipeItem(blockName+ "_sword", 3), Recipes.CraftableItems.SWORD);
     }
     
     //- Generate Recipes -//
-    public static void main(String[] args) {
-        Generator gen = new Generator("theancientglades");
-        String blockName = "alga";
-        gen.GenerateBuildingSet(blockName);
-        gen.GenerateArmourSet(blockName);
-        //gen.GenerateToolSet(blockName);
-        gen.GenerateBuildingSetRecipes(blockName);
-        gen.GenerateArmourSetRecipes(blockName);
-        //gen.GenerateToolSetRecipes(blockName);
+    private static final String USAGE = "Usage: Generator [manifest.csv] [archive.zip | archive.jar [compression level]] [metrics.json | metrics.prom]"
+            + " [--fail-fast] [--dry-run] [--incremental] [--compact] [--validate] [--threads=n] [--watch=textures]";
+
+    public static void main(String[] args) throws IOException {
+        //A manifest generates every material it lists, and an archive builds a zip or jar instead of loose files.
+        //A metrics file has the file counts and timings saved to it at the end of the run.
+        //With --fail-fast the run stops at the first file that fails to write, instead of reporting every failure.
+        //With --dry-run nothing is written, and the files that would be added or changed (or that differ but would be kept) are listed instead.
+        //With --incremental only the files that changed since the last incremental run are written (over the old ones).
+        //Their hashes are kept next to the manifest, or in generator.hashes without one.
+        //With --compact every file is written without whitespace, and the bytes saved are printed for each kind of file.
+        //With --validate the generated pack is checked for models, textures and items that are referred to but missing.
+        //With --threads=<n> a manifest is generated on n threads, or one after another with 1, instead of one for each processor.
+        //With --watch=<texture folder> the manifest is generated, and then regenerated as it and the textures change.
+        String manifest = null;
+        String archive = null;
+        String metricsFile = null;
+        String levelArg = null;
+        int level = ZipOutputSink.DEFAULT_LEVEL;
+        GenerationResult.FailureMode mode = GenerationResult.FailureMode.CONTINUE;
+        boolean dryRun = false;
+        boolean incremental = false;
+        boolean compact = false;
+        boolean validate = false;
+        String threadsArg = null;
+        String watchDirectory = null;
+        for (String arg : args) {
+            if(arg.equals("--fail-fast"))
+                mode = GenerationResult.FailureMode.FAIL_FAST;
+            else if(arg.equals("--dry-run"))
+                dryRun = true;
+            else if(arg.equals("--incremental"))
+                incremental = true;
+            else if(arg.equals("--compact"))
+                compact = true;
+            else if(arg.equals("--validate"))
+                validate = true;
+            else if(arg.startsWith("--threads="))
+                threadsArg = arg.substring("--threads=".length());
+            else if(arg.startsWith("--watch="))
+                watchDirectory = arg.substring("--watch=".length());
+            else if(arg.startsWith("--"))
+                ExitWithUsage("Unknown option " + arg);
+            else if(arg.endsWith(".csv"))
+                manifest = arg;
+            else if(arg.endsWith(".zip") || arg.endsWith(".jar"))
+                archive = arg;
+            else if(arg.endsWith(".json") || arg.endsWith(".prom"))
+                metricsFile = arg;
+            else if(levelArg == null)
+                levelArg = arg;
+            else
+                ExitWithUsage("Unexpected argument " + arg);
+        }
+        //The compression level is only read for an archive, as 0 for stored or 1-9 for deflate
+        if(levelArg != null) {
+            if(archive == null)
+                ExitWithUsage("Unexpected argument " + levelArg + ", a compression level needs a .zip or .jar archive");
+            try{
+                level = Integer.parseInt(levelArg);
+            } catch (NumberFormatException e) {
+                level = -1;
+            }
+            if(level < ZipOutputSink.STORED || level > 9)
+                ExitWithUsage("Invalid compression level " + levelArg + ", expected 0-9");
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        if(threadsArg != null) {
+            if(manifest == null)
+                ExitWithUsage("--threads needs a manifest to generate");
+            try{
+                threads = Integer.parseInt(threadsArg);
+            } catch (NumberFormatException e) {
+                threads = 0;
+            }
+            if(threads < 1)
+                ExitWithUsage("Invalid thread count " + threadsArg + ", expected 1 or more");
+        }
+        //Watch mode always writes loose files, incrementally, one update at a time
+        if(watchDirectory != null) {
+            if(manifest == null)
+                ExitWithUsage("--watch needs a manifest to watch");
+            if(dryRun || archive != null)
+                ExitWithUsage("--watch writes loose files, so it can't be used with --dry-run or an archive");
+            if(mode == GenerationResult.FailureMode.FAIL_FAST || validate || threadsArg != null)
+                ExitWithUsage("--watch can't be used with --fail-fast, --validate or --threads");
+        }
+        //Archives are written from scratch every run
+        if(incremental && archive != null)
+            ExitWithUsage("--incremental only works with loose files, not an archive");
+        if(watchDirectory != null) {
+            //Files are overwritten as they change, but only the first write to a file between updates is kept,
+            //as with a fresh tree, and unchanged files are left alone
+            Path hashes = Paths.get(manifest + ".hashes");
+            OutputSink watchSink = new DiskOutputSink(AssetLayout.FromEnvironment(), new IncrementalAssetWriter(hashes, new FileAssetWriter(true)));
+            new WatchMode(Paths.get(manifest), Paths.get(watchDirectory), watchSink, new GeneratorMetrics(),
+                    (metricsFile != null) ? Paths.get(metricsFile) : null, compact).Run();
+            return;
+        }
+
+        GeneratorMetrics metrics = new GeneratorMetrics();
+        OutputSink sink;
+        PipelinedAssetWriter pipeline = null;
+        if(dryRun) {
+            sink = new MemoryOutputSink();
+        } else if(archive != null) {
+            sink = ZipOutputSink.Open(Paths.get(archive), level);
+        } else {
+            //Batch runs write on separate threads, so rendering isn't held up by the disk.
+            //Batching holds every write back until the end of a small run, so a failure couldn't
+            //stop the rest of the run, and fail-fast runs write each file straight away instead.
+            //Incremental runs overwrite the files that changed.
+            AssetWriter writer;
+            if(manifest != null) {
+                pipeline = new PipelinedAssetWriter(new FileAssetWriter(incremental));
+                PipelinedAssetWriter queued = pipeline;
+                metrics.AddGauge("writer_queue_depth_max", "Most files waiting to be written at once.", queued::GetMaxQueueDepth);
+                metrics.AddGauge("writer_utilization", "Fraction of the run the writer threads spent writing.", queued::GetWriterUtilization);
+                writer = pipeline;
+            } else if(mode == GenerationResult.FailureMode.FAIL_FAST)
+                writer = new FileAssetWriter(incremental);
+            else
+                writer = new BatchedAssetWriter(new FileAssetWriter(incremental));
+            if(incremental)
+                writer = new IncrementalAssetWriter(Paths.get((manifest != null) ? manifest + ".hashes" : "generator.hashes"), writer);
+            sink = new DiskOutputSink(AssetLayout.FromEnvironment(), writer);
+        }
+
+        GenerationResult result;
+        if(manifest != null) {
+            result = BatchManifest.Load(Paths.get(manifest)).Run(sink, threads, metrics, mode, compact);
+        } else {
+            Generator gen = new Generator("theancientglades", sink, metrics, compact);
+            String blockName = "alga";
+            result = gen.GenerateSets(mode, blockName,
+                    SetType.BUILDING, SetType.ARMOUR, /*SetType.TOOL,*/ SetType.BUILDING_RECIPES, SetType.ARMOUR_RECIPES /*, SetType.TOOL_RECIPES*/);
+        }
+        sink.Close();
+        if(pipeline != null)
+            pipeline.Shutdown();
+        if(metricsFile != null)
+            metrics.Save(Paths.get(metricsFile));
+        if(dryRun)
+            System.out.print(DryRunReport.Compare((MemoryOutputSink) sink, AssetLayout.FromEnvironment(), incremental).Summary());
+        else
+            System.out.print(result.Report());
+        if(pipeline != null)
+            System.out.println(String.format(Locale.ROOT, "The writer threads were busy %.0f%% of the time", pipeline.GetWriterUtilization() * 100));
+        if(compact) {
+            for (Map.Entry<AssetType, Long> saved : metrics.GetBytesSavedByKind().entrySet()) {
+                System.out.println(saved.getKey().name().toLowerCase(Locale.ROOT) + ": " + saved.getValue() + " bytes saved");
+            }
+        }
+        boolean valid = true;
+        if(validate) {
+            PackValidator validation;
+            if(dryRun)
+                validation = PackValidator.Validate(((MemoryOutputSink) sink).GetFiles());
+            else if(archive != null)
+                validation = PackValidator.Validate(Paths.get(archive));
+            else
+                validation = PackValidator.Validate(AssetLayout.FromEnvironment());
+            System.out.print(validation.Summary());
+            valid = validation.IsValid();
+        }
+        if(!result.IsSuccessful() || !valid)
+            System.exit(1);
+    }
+
+    private static void ExitWithUsage(String problem){
+        System.out.println(problem + "\n" + USAGE);
+        System.exit(1);
     }
 }
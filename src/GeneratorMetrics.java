@@ -0,0 +1,295 @@
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/***
+ * GeneratorMetrics
+ *
+ * This class counts what a Generator does, broken down by the kind of asset
+ * (block model, blockstate, recipe...) and the set it was generated for.
+ * For each kind and set it keeps the files written, bytes written, files skipped
+ * because they already existed, failed writes, and histograms of the time taken to
+ * render and to write each file. In compact mode it also counts the bytes that were
+ * saved by leaving out the whitespace.
+ * Gauges, such as how many files are waiting to be written, are read when the metrics are saved.
+ *
+ * Assets generated outside of a set are counted under the set "none".
+ * The metrics can be saved as JSON, or in the Prometheus text format, at the end of a run.
+ */
+public class GeneratorMetrics {
+    //The upper bounds of the histogram buckets, in nanoseconds. The last bucket has no upper bound.
+    private static final long[] BUCKET_BOUNDS = {
+            1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000,
+            1_000_000, 2_500_000, 5_000_000, 10_000_000, 100_000_000, 1_000_000_000
+    };
+    private static final String NO_SET = "none";
+
+    public static class Histogram {
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+        private final LongAdder sum = new LongAdder();
+
+        void Record(long nanos){
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS.length && nanos > BUCKET_BOUNDS[bucket]) {
+                bucket++;
+            }
+            counts.incrementAndGet(bucket);
+            sum.add(nanos);
+        }
+
+        public long GetCount(){
+            return GetCumulativeCount(BUCKET_BOUNDS.length);
+        }
+        public long GetSumNanos(){
+            return sum.sum();
+        }
+        //The number of times recorded that are no more than the bound of the given bucket
+        public long GetCumulativeCount(int bucket){
+            long count = 0;
+            for (int i = 0; i <= bucket; i++) {
+                count += counts.get(i);
+            }
+            return count;
+        }
+    }
+
+    //- The metrics for one kind of asset in one set -//
+    public static class Series implements WriteListener {
+        public final AssetType kind;
+        public final String set;
+        private final LongAdder files = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder bytesSaved = new LongAdder();
+        private final Histogram renderTime = new Histogram();
+        private final Histogram writeTime = new Histogram();
+
+        Series(AssetType kind, String set){
+            this.kind = kind;
+            this.set = set;
+        }
+
+        @Override
+        public void Written(long bytes, long nanos){
+            files.increment();
+            this.bytes.add(bytes);
+            writeTime.Record(nanos);
+        }
+        @Override
+        public void Skipped(){
+            skipped.increment();
+        }
+        @Override
+        public void Failed(Exception e){
+            failures.increment();
+        }
+
+        public long GetFiles(){
+            return files.sum();
+        }
+        public long GetBytes(){
+            return bytes.sum();
+        }
+        public long GetSkipped(){
+            return skipped.sum();
+        }
+        public long GetFailures(){
+            return failures.sum();
+        }
+        public long GetBytesSaved(){
+            return bytesSaved.sum();
+        }
+        public Histogram GetRenderTime(){
+            return renderTime;
+        }
+        public Histogram GetWriteTime(){
+            return writeTime;
+        }
+    }
+
+    private record Key(AssetType kind, String set) {}
+    private record Gauge(String help, DoubleSupplier value) {}
+
+    private final Map<Key, Series> series = new ConcurrentHashMap<>();
+    //Sorted by name
+    private final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+
+    //Adds a value that is read each time the metrics are saved, e.g. writer_utilization.
+    //The Prometheus name has generator_ in front of it.
+    public void AddGauge(String name, String help, DoubleSupplier value){
+        gauges.put(name, new Gauge(help, value));
+    }
+
+    //Records the time taken to render an asset, and returns the listener to pass on with its write
+    public WriteListener Rendered(AssetType kind, Generator.SetType set, long renderNanos){
+        return Rendered(kind, set, renderNanos, 0);
+    }
+    //As above, for an asset that was rendered savedBytes smaller than its readable layout.
+    //The saved bytes are only counted if the asset is written, and not skipped.
+    public WriteListener Rendered(AssetType kind, Generator.SetType set, long renderNanos, long savedBytes){
+        String setName = (set == null) ? NO_SET : set.name().toLowerCase(Locale.ROOT);
+        Series assetSeries = series.computeIfAbsent(new Key(kind, setName), key -> new Series(key.kind(), key.set()));
+        assetSeries.renderTime.Record(renderNanos);
+        if(savedBytes == 0)
+            return assetSeries;
+        return new WriteListener() {
+            @Override
+            public void Written(long bytes, long nanos) {
+                assetSeries.Written(bytes, nanos);
+                assetSeries.bytesSaved.add(savedBytes);
+            }
+            @Override
+            public void Skipped() {
+                assetSeries.Skipped();
+            }
+            @Override
+            public void Failed(Exception e) {
+                assetSeries.Failed(e);
+            }
+        };
+    }
+
+    //The bytes saved by compact mode for each kind of asset, across every set
+    public Map<AssetType, Long> GetBytesSavedByKind(){
+        Map<AssetType, Long> saved = new EnumMap<>(AssetType.class);
+        for (Series s : series.values()) {
+            saved.merge(s.kind, s.GetBytesSaved(), Long::sum);
+        }
+        return saved;
+    }
+
+    //Every kind and set that has been recorded, sorted by kind and then set
+    public List<Series> GetSeries(){
+        List<Series> sorted = new ArrayList<>(series.values());
+        sorted.sort(Comparator.comparing((Series s) -> s.kind).thenComparing(s -> s.set));
+        return sorted;
+    }
+
+    public String ToJson(){
+        StringBuilder json = new StringBuilder("{\n  \"series\": [");
+        List<Series> sorted = GetSeries();
+        for (int i = 0; i < sorted.size(); i++) {
+            Series s = sorted.get(i);
+            json.append((i == 0) ? "\n" : ",\n")
+                    .append("    {\n")
+                    .append("      \"kind\": \"").append(KindName(s.kind)).append("\",\n")
+                    .append("      \"set\": \"").append(s.set).append("\",\n")
+                    .append("      \"files\": ").append(s.GetFiles()).append(",\n")
+                    .append("      \"bytes\": ").append(s.GetBytes()).append(",\n")
+                    .append("      \"skipped\": ").append(s.GetSkipped()).append(",\n")
+                    .append("      \"failures\": ").append(s.GetFailures()).append(",\n")
+                    .append("      \"bytes_saved\": ").append(s.GetBytesSaved()).append(",\n");
+            AppendJsonHistogram(json, "render", s.renderTime);
+            json.append(",\n");
+            AppendJsonHistogram(json, "write", s.writeTime);
+            json.append("\n    }");
+        }
+        json.append("\n  ],\n  \"gauges\": {");
+        boolean first = true;
+        for (Map.Entry<String, Gauge> gauge : gauges.entrySet()) {
+            json.append((first) ? "\n" : ",\n")
+                    .append("    \"").append(gauge.getKey()).append("\": ").append(Number(gauge.getValue().value().getAsDouble()));
+            first = false;
+        }
+        return json.append((first) ? "}\n}\n" : "\n  }\n}\n").toString();
+    }
+
+    public String ToPrometheus(){
+        StringBuilder text = new StringBuilder();
+        List<Series> sorted = GetSeries();
+        AppendPrometheusCounter(text, sorted, "generator_files_written_total", "Files written.", Series::GetFiles);
+        AppendPrometheusCounter(text, sorted, "generator_bytes_written_total", "Bytes written.", Series::GetBytes);
+        AppendPrometheusCounter(text, sorted, "generator_files_skipped_total", "Files skipped because they already existed.", Series::GetSkipped);
+        AppendPrometheusCounter(text, sorted, "generator_write_failures_total", "Files that failed to write.", Series::GetFailures);
+        AppendPrometheusCounter(text, sorted, "generator_bytes_saved_total", "Bytes saved by writing compact JSON.", Series::GetBytesSaved);
+        AppendPrometheusHistogram(text, sorted, "generator_render_seconds", "Time taken to render each file.", Series::GetRenderTime);
+        AppendPrometheusHistogram(text, sorted, "generator_write_seconds", "Time taken to write each file.", Series::GetWriteTime);
+        for (Map.Entry<String, Gauge> gauge : gauges.entrySet()) {
+            String name = "generator_" + gauge.getKey();
+            text.append("# HELP ").append(name).append(' ').append(gauge.getValue().help()).append('\n')
+                    .append("# TYPE ").append(name).append(" gauge\n")
+                    .append(name).append(' ').append(Number(gauge.getValue().value().getAsDouble())).append('\n');
+        }
+        return text.toString();
+    }
+
+    //Saves the metrics as JSON if the file name ends in .json, and in the Prometheus text format otherwise
+    public void Save(Path file){
+        String text = (file.getFileName().toString().endsWith(".json")) ? ToJson() : ToPrometheus();
+        try{
+            Files.writeString(file, text, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.out.println("IO error writing metrics to " + file.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private static String KindName(AssetType kind){
+        return kind.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String Seconds(long nanos){
+        return BigDecimal.valueOf(nanos, 9).stripTrailingZeros().toPlainString();
+    }
+
+    //e.g. 12 or 0.375, without an exponent
+    private static String Number(double value){
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    private static void AppendJsonHistogram(StringBuilder json, String name, Histogram histogram){
+        json.append("      \"").append(name).append("\": {\n")
+                .append("        \"count\": ").append(histogram.GetCount()).append(",\n")
+                .append("        \"sum_ns\": ").append(histogram.GetSumNanos()).append(",\n")
+                .append("        \"buckets\": {");
+        for (int i = 0; i <= BUCKET_BOUNDS.length; i++) {
+            String bound = (i < BUCKET_BOUNDS.length) ? String.valueOf(BUCKET_BOUNDS[i]) : "+Inf";
+            json.append((i == 0) ? "" : ", ").append('"').append(bound).append("\": ").append(histogram.GetCumulativeCount(i));
+        }
+        json.append("}\n      }");
+    }
+
+    private static void AppendPrometheusCounter(StringBuilder text, List<Series> sorted, String name, String help,
+                                                ToLongFunction<Series> value){
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n')
+                .append("# TYPE ").append(name).append(" counter\n");
+        for (Series s : sorted) {
+            text.append(name).append(Labels(s, null)).append(' ').append(value.applyAsLong(s)).append('\n');
+        }
+    }
+
+    private static void AppendPrometheusHistogram(StringBuilder text, List<Series> sorted, String name, String help,
+                                                  Function<Series, Histogram> value){
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n')
+                .append("# TYPE ").append(name).append(" histogram\n");
+        for (Series s : sorted) {
+            Histogram histogram = value.apply(s);
+            for (int i = 0; i <= BUCKET_BOUNDS.length; i++) {
+                String bound = (i < BUCKET_BOUNDS.length) ? Seconds(BUCKET_BOUNDS[i]) : "+Inf";
+                text.append(name).append("_bucket").append(Labels(s, bound)).append(' ').append(histogram.GetCumulativeCount(i)).append('\n');
+            }
+            text.append(name).append("_sum").append(Labels(s, null)).append(' ').append(Seconds(histogram.GetSumNanos())).append('\n');
+            text.append(name).append("_count").append(Labels(s, null)).append(' ').append(histogram.GetCount()).append('\n');
+        }
+    }
+
+    private static String Labels(Series s, String bucketBound){
+        String labels = "{kind=\"" + KindName(s.kind) + "\",set=\"" + s.set + "\"";
+        return (bucketBound == null) ? labels + "}" : labels + ",le=\"" + bucketBound + "\"}";
+    }
+}
@@ -0,0 +1,134 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/***
+ * IncrementalAssetWriter
+ *
+ * This class only writes the assets whose content has changed since the last run.
+ * It keeps a manifest file with the SHA-256 hash and size of every file it has written,
+ * and compares each new asset against it. Unchanged files that are still on disk with
+ * the same size are skipped, and everything else is passed on to the wrapped writer, which should be
+ * set to overwrite (e.g. new FileAssetWriter(true)) so stale files are replaced.
+ *
+ * As with a fresh tree, only the first asset written to a path during a run is kept.
+ * A file's entry is only updated once the wrapped writer reports it written, so a file that
+ * failed (or wasn't written for any other reason) is written again on the next run.
+ * The manifest is saved, and a new run started, when the writer is flushed.
+ */
+public class IncrementalAssetWriter implements AssetWriter {
+    private final Path manifestFile;
+    private final AssetWriter writer;
+    private final Map<String, String> manifest = new ConcurrentHashMap<>();
+    private final Set<String> writtenThisRun = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<MessageDigest> digest = ThreadLocal.withInitial(IncrementalAssetWriter::NewDigest);
+
+    public IncrementalAssetWriter(Path manifestFile, AssetWriter writer){
+        this.manifestFile = manifestFile;
+        this.writer = writer;
+        LoadManifest();
+    }
+
+    @Override
+    public void Write(Path destination, byte[] content, WriteListener listener) {
+        String path = destination.toString();
+        if(!writtenThisRun.add(path)) {
+            listener.Skipped();
+            return;
+        }
+        String entry = HexFormat.of().formatHex(digest.get().digest(content)) + '\t' + content.length;
+        if(entry.equals(manifest.get(path)) && SizeOnDisk(destination) == content.length) {
+            listener.Skipped();
+            return;
+        }
+        writer.Write(destination, content, new WriteListener() {
+            @Override
+            public void Written(long bytes, long nanos) {
+                manifest.put(path, entry);
+                listener.Written(bytes, nanos);
+            }
+            //Whatever is on disk now isn't known to match any entry, so it is rewritten next run
+            @Override
+            public void Skipped() {
+                manifest.remove(path);
+                listener.Skipped();
+            }
+            @Override
+            public void Failed(Exception e) {
+                manifest.remove(path);
+                listener.Failed(e);
+            }
+        });
+    }
+
+    @Override
+    public void Flush() {
+        writer.Flush();
+        SaveManifest();
+        writtenThisRun.clear();
+    }
+
+    private static long SizeOnDisk(Path file){
+        try{
+            return Files.size(file);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    //Each line of the manifest is the hash, the size and then the path of the file, separated by tabs
+    private void LoadManifest(){
+        if(!Files.exists(manifestFile))
+            return;
+        try{
+            List<String> lines = Files.readAllLines(manifestFile, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                int tab = line.lastIndexOf('\t');
+                if(tab > 0) {
+                    manifest.put(line.substring(tab + 1), line.substring(0, tab));
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("IO error reading manifest " + manifestFile.getFileName() + ", regenerating every file: " + e.getMessage());
+        }
+    }
+
+    private synchronized void SaveManifest(){
+        Path parent = manifestFile.toAbsolutePath().getParent();
+        Path tempFile = parent.resolve(manifestFile.getFileName() + ".tmp");
+        try{
+            Files.createDirectories(parent);
+            try (BufferedWriter out = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                //Sorted, so the manifest diffs cleanly between runs
+                for (Map.Entry<String, String> entry : new TreeMap<>(manifest).entrySet()) {
+                    out.write(entry.getValue());
+                    out.write('\t');
+                    out.write(entry.getKey());
+                    out.write('\n');
+                }
+            }
+            Files.move(tempFile, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("IO error writing manifest " + manifestFile.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private static MessageDigest NewDigest(){
+        try{
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
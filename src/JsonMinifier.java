@@ -0,0 +1,36 @@
+/***
+ * JsonMinifier
+ *
+ * This class removes the insignificant whitespace from JSON (spaces, tabs and new lines
+ * outside of strings), in place, in a single pass over the bytes.
+ *
+ * It remembers whether it is inside a string between calls, so a JSON file that is split
+ * into pieces (such as the segments of a JsonTemplate) can be minified one piece at a time.
+ */
+public class JsonMinifier {
+    private boolean inString = false;
+    private boolean escaped = false;
+
+    //Minifies bytes[start, end), moving what is kept to the front of the range.
+    //Returns the new end of the range.
+    public int Minify(byte[] bytes, int start, int end){
+        int write = start;
+        for (int read = start; read < end; read++) {
+            byte b = bytes[read];
+            if(inString) {
+                if(escaped)
+                    escaped = false;
+                else if(b == '\\')
+                    escaped = true;
+                else if(b == '"')
+                    inString = false;
+            } else if(b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                continue;
+            } else if(b == '"') {
+                inString = true;
+            }
+            bytes[write++] = b;
+        }
+        return write;
+    }
+}
@@ -0,0 +1,169 @@
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/***
+ * JsonReader
+ *
+ * This class reads a JSON document back into plain Java values, for checking generated files.
+ * Objects become a Map (keeping the order of their names), arrays a List, strings a String,
+ * numbers a Double, and true, false and null a Boolean or null.
+ *
+ * A document that isn't valid JSON throws an IllegalArgumentException, with the byte it failed at.
+ */
+public class JsonReader {
+    private final byte[] json;
+    private int i = 0;
+
+    private JsonReader(byte[] json){
+        this.json = json;
+    }
+
+    public static Object Parse(byte[] json){
+        JsonReader reader = new JsonReader(json);
+        Object value = reader.ReadValue();
+        reader.SkipWhitespace();
+        if(reader.i < json.length)
+            throw reader.Error("Unexpected content after the document");
+        return value;
+    }
+
+    private Object ReadValue(){
+        SkipWhitespace();
+        if(i >= json.length)
+            throw Error("Unexpected end of document");
+        return switch (json[i]) {
+            case '{' -> ReadObject();
+            case '[' -> ReadArray();
+            case '"' -> ReadString();
+            case 't' -> ReadWord("true", Boolean.TRUE);
+            case 'f' -> ReadWord("false", Boolean.FALSE);
+            case 'n' -> ReadWord("null", null);
+            default -> ReadNumber();
+        };
+    }
+
+    private Map<String, Object> ReadObject(){
+        Map<String, Object> object = new LinkedHashMap<>();
+        i++;
+        SkipWhitespace();
+        if(Consume('}'))
+            return object;
+        do {
+            SkipWhitespace();
+            if(i >= json.length || json[i] != '"')
+                throw Error("Expected a name");
+            String name = ReadString();
+            SkipWhitespace();
+            if(!Consume(':'))
+                throw Error("Expected ':'");
+            object.put(name, ReadValue());
+            SkipWhitespace();
+        } while (Consume(','));
+        if(!Consume('}'))
+            throw Error("Expected ',' or '}'");
+        return object;
+    }
+
+    private List<Object> ReadArray(){
+        List<Object> array = new ArrayList<>();
+        i++;
+        SkipWhitespace();
+        if(Consume(']'))
+            return array;
+        do {
+            array.add(ReadValue());
+            SkipWhitespace();
+        } while (Consume(','));
+        if(!Consume(']'))
+            throw Error("Expected ',' or ']'");
+        return array;
+    }
+
+    private String ReadString(){
+        int start = ++i;
+        boolean escaped = false;
+        while (i < json.length && json[i] != '"') {
+            if(json[i] == '\\') {
+                escaped = true;
+                i++;
+            }
+            i++;
+        }
+        if(i >= json.length)
+            throw Error("Unclosed string");
+        String text = new String(json, start, i - start, StandardCharsets.UTF_8);
+        i++;
+        return (escaped) ? Unescape(text) : text;
+    }
+
+    private Object ReadWord(String word, Object value){
+        for (int c = 0; c < word.length(); c++) {
+            if(i >= json.length || json[i++] != word.charAt(c))
+                throw Error("Unexpected value");
+        }
+        return value;
+    }
+
+    private Double ReadNumber(){
+        int start = i;
+        while (i < json.length && "+-0123456789.eE".indexOf(json[i]) >= 0) {
+            i++;
+        }
+        try{
+            return Double.valueOf(new String(json, start, i - start, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            i = start;
+            throw Error("Unexpected value");
+        }
+    }
+
+    private boolean Consume(char c){
+        if(i < json.length && json[i] == c) {
+            i++;
+            return true;
+        }
+        return false;
+    }
+
+    private void SkipWhitespace(){
+        while (i < json.length && (json[i] == ' ' || json[i] == '\n' || json[i] == '\r' || json[i] == '\t')) {
+            i++;
+        }
+    }
+
+    private IllegalArgumentException Error(String message){
+        return new IllegalArgumentException(message + " at byte " + i);
+    }
+
+    private String Unescape(String text){
+        StringBuilder unescaped = new StringBuilder(text.length());
+        for (int c = 0; c < text.length(); c++) {
+            char character = text.charAt(c);
+            if(character != '\\') {
+                unescaped.append(character);
+                continue;
+            }
+            if(++c >= text.length())
+                throw Error("Unfinished escape");
+            char escape = text.charAt(c);
+            switch (escape) {
+                case 'n' -> unescaped.append('\n');
+                case 'r' -> unescaped.append('\r');
+                case 't' -> unescaped.append('\t');
+                case 'b' -> unescaped.append('\b');
+                case 'f' -> unescaped.append('\f');
+                case 'u' -> {
+                    if(c + 4 >= text.length())
+                        throw Error("Unfinished escape");
+                    unescaped.append((char) Integer.parseInt(text.substring(c + 1, c + 5), 16));
+                    c += 4;
+                }
+                default -> unescaped.append(escape);
+            }
+        }
+        return unescaped.toString();
+    }
+}
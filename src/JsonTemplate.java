@@ -0,0 +1,94 @@
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/***
+ * JsonTemplate
+ *
+ * This class is a JSON file with placeholders in it, such as ${mod} or ${name}.
+ * It is compiled once into the constant byte segments between the placeholders,
+ * so rendering it is just copying those segments into a TemplateBuffer, with the
+ * placeholder values in between.
+ *
+ * The placeholder names are given when compiling, and the values are passed to
+ * Render in the same order, as UTF-8 bytes that are already escaped for a JSON string,
+ * as ResourceLocationCache's are (JsonWriter.Escape escapes any other value).
+ *
+ * Each template also has a minified version, without the insignificant whitespace, which
+ * renders the same JSON in fewer bytes. Placeholders are expected to be inside strings.
+ */
+public class JsonTemplate {
+    private final byte[][] segments;
+    private final int[] placeholders;
+    //How many fewer bytes this template renders than the one it was minified from
+    private final int savedBytes;
+    private volatile JsonTemplate minified;
+
+    private JsonTemplate(byte[][] segments, int[] placeholders, int savedBytes){
+        this.segments = segments;
+        this.placeholders = placeholders;
+        this.savedBytes = savedBytes;
+    }
+
+    public static JsonTemplate Compile(String source, String... placeholderNames){
+        List<byte[]> segments = new ArrayList<>();
+        List<Integer> placeholders = new ArrayList<>();
+        int start = 0;
+        int open = source.indexOf("${");
+        while (open >= 0) {
+            int close = source.indexOf('}', open);
+            if(close < 0)
+                throw new IllegalArgumentException("Unclosed placeholder at index " + open);
+            int placeholder = IndexOf(placeholderNames, source.substring(open + 2, close));
+            if(placeholder < 0)
+                throw new IllegalArgumentException("Unknown placeholder " + source.substring(open, close + 1));
+            segments.add(source.substring(start, open).getBytes(StandardCharsets.UTF_8));
+            placeholders.add(placeholder);
+            start = close + 1;
+            open = source.indexOf("${", start);
+        }
+        segments.add(source.substring(start).getBytes(StandardCharsets.UTF_8));
+        return new JsonTemplate(segments.toArray(new byte[0][]), placeholders.stream().mapToInt(Integer::intValue).toArray(), 0);
+    }
+
+    //Returns the minified version of the template, which is only worked out once
+    public JsonTemplate Minified(){
+        if(minified == null) {
+            JsonMinifier minifier = new JsonMinifier();
+            byte[][] minifiedSegments = new byte[segments.length][];
+            int saved = 0;
+            for (int i = 0; i < segments.length; i++) {
+                byte[] segment = segments[i].clone();
+                int end = minifier.Minify(segment, 0, segment.length);
+                minifiedSegments[i] = Arrays.copyOf(segment, end);
+                saved += segment.length - end;
+            }
+            JsonTemplate template = new JsonTemplate(minifiedSegments, placeholders, savedBytes + saved);
+            template.minified = template;
+            minified = template;
+        }
+        return minified;
+    }
+
+    public int GetSavedBytes(){
+        return savedBytes;
+    }
+
+    //Appends the rendered template to the buffer, using values that are already escaped and UTF-8 encoded
+    public void Render(TemplateBuffer buffer, byte[]... values){
+        for (int i = 0; i < placeholders.length; i++) {
+            buffer.Append(segments[i]);
+            buffer.Append(values[placeholders[i]]);
+        }
+        buffer.Append(segments[placeholders.length]);
+    }
+
+    private static int IndexOf(String[] names, String name){
+        for (int i = 0; i < names.length; i++) {
+            if(names[i].equals(name))
+                return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,208 @@
+import java.util.Arrays;
+
+/***
+ * JsonWriter
+ *
+ * This class writes a JSON document straight into a TemplateBuffer, one object, array,
+ * name or value at a time, so a file is never built up as a String first.
+ * Every name and string value is escaped as it is written, so a block or group name with a
+ * quote or backslash in it still makes a valid file.
+ *
+ * Documents are laid out with 2 space indents, or with no whitespace at all in compact mode.
+ * In compact mode the writer counts the bytes of whitespace it left out.
+ *
+ * e.g. writer.BeginObject().Field("rolls", 1).Name("entries").BeginArray()...EndArray().EndObject();
+ */
+public class JsonWriter {
+    private static final String HEX = "0123456789abcdef";
+
+    private final TemplateBuffer out;
+    private final boolean compact;
+    private int depth;
+    //Whether the object or array at each depth has anything in it yet
+    private boolean[] hasElements = new boolean[16];
+    //Whether a name has been written, and its value has not
+    private boolean afterName = false;
+    private int savedBytes = 0;
+
+    public JsonWriter(TemplateBuffer out){
+        this(out, false);
+    }
+    public JsonWriter(TemplateBuffer out, boolean compact){
+        this(out, compact, 0);
+    }
+    //Starts the writer as the value of a name at the given depth, for rendering a value that is copied into documents
+    JsonWriter(TemplateBuffer out, boolean compact, int depth){
+        this.out = out;
+        this.compact = compact;
+        this.depth = depth;
+        afterName = depth > 0;
+        if(depth >= hasElements.length)
+            hasElements = new boolean[depth + 16];
+    }
+
+    public JsonWriter BeginObject(){
+        return Begin('{');
+    }
+    public JsonWriter EndObject(){
+        return End('}');
+    }
+    public JsonWriter BeginArray(){
+        return Begin('[');
+    }
+    public JsonWriter EndArray(){
+        return End(']');
+    }
+
+    public JsonWriter Name(String name){
+        if(afterName)
+            throw new IllegalStateException("Expected a value for the previous name");
+        NextElement();
+        AppendString(out, name);
+        out.AppendChar(':');
+        if(compact)
+            savedBytes++;
+        else
+            out.AppendChar(' ');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter Value(String value){
+        BeforeValue();
+        AppendString(out, value);
+        return this;
+    }
+    public JsonWriter Value(int value){
+        BeforeValue();
+        out.AppendInt(value);
+        return this;
+    }
+    public JsonWriter Value(boolean value){
+        BeforeValue();
+        out.AppendUtf8(value ? "true" : "false");
+        return this;
+    }
+    //Writes a string value that is already escaped and encoded, such as a cached identifier
+    public JsonWriter EscapedValue(byte[] escaped){
+        BeforeValue();
+        out.AppendChar('"');
+        out.Append(escaped);
+        out.AppendChar('"');
+        return this;
+    }
+    //Writes a value that was rendered earlier, at the current depth and in the same layout as this writer.
+    //The saved bytes are those the value left out, if it was rendered in compact mode.
+    JsonWriter RawValue(byte[] json, int savedBytes){
+        BeforeValue();
+        out.Append(json);
+        this.savedBytes += savedBytes;
+        return this;
+    }
+
+    public JsonWriter Field(String name, String value){
+        return Name(name).Value(value);
+    }
+    public JsonWriter Field(String name, int value){
+        return Name(name).Value(value);
+    }
+    public JsonWriter EscapedField(String name, byte[] escaped){
+        return Name(name).EscapedValue(escaped);
+    }
+
+    public boolean IsCompact(){
+        return compact;
+    }
+
+    //How many fewer bytes were written than if the document had been laid out with indents
+    public int GetSavedBytes(){
+        return savedBytes;
+    }
+
+    //Returns the text as the UTF-8 bytes of a JSON string, without the quotes
+    public static byte[] Escape(CharSequence text){
+        TemplateBuffer buffer = new TemplateBuffer(text.length() + 8);
+        AppendEscaped(buffer, text);
+        return buffer.ToByteArray();
+    }
+
+    //Appends the text as the contents of a JSON string, copying runs that need no escaping as they are
+    static void AppendEscaped(TemplateBuffer out, CharSequence text){
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if(c >= 0x20 && c != '"' && c != '\\')
+                continue;
+            out.AppendUtf8(text, start, i);
+            out.AppendChar('\\');
+            switch (c) {
+                case '"', '\\' -> out.AppendChar(c);
+                case '\n' -> out.AppendChar('n');
+                case '\r' -> out.AppendChar('r');
+                case '\t' -> out.AppendChar('t');
+                case '\b' -> out.AppendChar('b');
+                case '\f' -> out.AppendChar('f');
+                default -> {
+                    out.AppendUtf8("u00");
+                    out.AppendChar(HEX.charAt(c >> 4));
+                    out.AppendChar(HEX.charAt(c & 0xF));
+                }
+            }
+            start = i + 1;
+        }
+        out.AppendUtf8(text, start, text.length());
+    }
+
+    private static void AppendString(TemplateBuffer out, CharSequence text){
+        out.AppendChar('"');
+        AppendEscaped(out, text);
+        out.AppendChar('"');
+    }
+
+    private JsonWriter Begin(char bracket){
+        BeforeValue();
+        out.AppendChar(bracket);
+        depth++;
+        if(depth >= hasElements.length)
+            hasElements = Arrays.copyOf(hasElements, hasElements.length * 2);
+        hasElements[depth] = false;
+        return this;
+    }
+
+    private JsonWriter End(char bracket){
+        if(depth == 0 || afterName)
+            throw new IllegalStateException("Unexpected '" + bracket + "'");
+        depth--;
+        if(hasElements[depth + 1])
+            NewLine();
+        out.AppendChar(bracket);
+        return this;
+    }
+
+    //Values in objects follow their name, and values in arrays go on their own line
+    private void BeforeValue(){
+        if(afterName) {
+            afterName = false;
+        } else if(depth > 0) {
+            NextElement();
+        }
+    }
+
+    private void NextElement(){
+        if(hasElements[depth])
+            out.AppendChar(',');
+        hasElements[depth] = true;
+        NewLine();
+    }
+
+    private void NewLine(){
+        if(compact) {
+            savedBytes += 1 + 2 * depth;
+            return;
+        }
+        out.AppendChar('\n');
+        for (int i = 0; i < depth; i++) {
+            out.AppendUtf8("  ");
+        }
+    }
+}
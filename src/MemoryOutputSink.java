@@ -0,0 +1,40 @@
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/***
+ * MemoryOutputSink
+ *
+ * This class keeps every file the Generator renders in memory, keyed by its path
+ * inside the pack (e.g. assets/{mod}/blockstates/{name}.json), without touching the disk.
+ * It is useful for tests, benchmarks and dry runs.
+ */
+public class MemoryOutputSink implements OutputSink {
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+
+    @Override
+    public void Write(String namespace, AssetType type, String name, byte[] content, WriteListener listener) {
+        if(files.putIfAbsent(type.GetPackPath(namespace, name), content) == null) {
+            listener.Written(content.length, 0);
+        } else {
+            listener.Skipped();
+        }
+    }
+
+    @Override
+    public void Flush() {
+        //Everything is already in memory
+    }
+
+    public byte[] Get(String packPath){
+        return files.get(packPath);
+    }
+
+    public Map<String, byte[]> GetFiles(){
+        return Collections.unmodifiableMap(files);
+    }
+
+    public void Clear(){
+        files.clear();
+    }
+}
@@ -0,0 +1,47 @@
+/***
+ * ModelDefinition
+ *
+ * This class describes one kind of model file: the parent model it inherits from,
+ * and the texture slots it fills in (e.g. "end" and "side" for a cube_column).
+ * The JSON is compiled once into a JsonTemplate, so rendering a model is just filling
+ * in the texture identifiers.
+ */
+public class ModelDefinition {
+    public final String parent;
+    private final String[] slots;
+    private final JsonTemplate template;
+
+    ModelDefinition(String parent, String source, String... slots){
+        this.parent = parent;
+        this.slots = slots;
+        template = JsonTemplate.Compile(source, slots);
+    }
+
+    //A model with each texture slot on its own line, e.g.
+    //{
+    //  "parent": "minecraft:block/slab",
+    //  "textures": {
+    //    "bottom": "${bottom}",
+    //    ...
+    //  }
+    //}
+    static ModelDefinition Standard(String parent, String... slots){
+        StringBuilder source = new StringBuilder("{\n  \"parent\": \"").append(parent).append("\",\n  \"textures\": {\n");
+        for (int i = 0; i < slots.length; i++) {
+            source.append("    \"").append(slots[i]).append("\": \"${").append(slots[i]).append("}\"")
+                    .append((i < slots.length - 1) ? ",\n" : "\n");
+        }
+        source.append("  }\n}");
+        return new ModelDefinition(parent, source.toString(), slots);
+    }
+
+    //Appends the model to the buffer, with one texture identifier for each slot, in order.
+    //In compact mode the minified template is rendered, and the bytes it leaves out are returned.
+    public int Render(TemplateBuffer buffer, boolean compact, byte[]... textures){
+        if(textures.length != slots.length)
+            throw new IllegalArgumentException(parent + " takes " + slots.length + " textures, not " + textures.length);
+        JsonTemplate format = (compact) ? template.Minified() : template;
+        format.Render(buffer, textures);
+        return format.GetSavedBytes();
+    }
+}
@@ -0,0 +1,95 @@
+import java.util.HashSet;
+import java.util.Set;
+
+/***
+ * ModelDefinitions
+ *
+ * This class is the registry of every model the Generator writes, one ModelDefinition
+ * for each parent model, so the JSON for each one is only defined (and compiled) once.
+ * Registering a second definition for the same parent model throws an IllegalStateException.
+ *
+ * The cube_all and cube_column models keep the layout of the files they have always generated.
+ */
+public class ModelDefinitions {
+    private static final Set<String> PARENTS = new HashSet<>();
+
+    //- Block models -//
+    public static final ModelDefinition CUBE_ALL = Register(new ModelDefinition("minecraft:block/cube_all", """
+            {
+             "parent": "minecraft:block/cube_all",
+             "textures": {
+             "all":"${all}"
+             }
+            }""", "all"));
+    public static final ModelDefinition CUBE_COLUMN = Register(new ModelDefinition("minecraft:block/cube_column", """
+            {
+            "parent": "minecraft:block/cube_column",
+              "textures": {
+                "end": "${end}",
+                "side": "${side}"
+             }
+            }""", "end", "side"));
+    public static final ModelDefinition CUBE_COLUMN_HORIZONTAL = Register(new ModelDefinition("minecraft:block/cube_column_horizontal", """
+            {
+            "parent": "minecraft:block/cube_column_horizontal",
+              "textures": {
+                "end": "${end}",
+                "side": "${side}"
+             }
+            }""", "end", "side"));
+
+    public static final ModelDefinition BUTTON = Standard("block/button", "texture");
+    public static final ModelDefinition BUTTON_PRESSED = Standard("block/button_pressed", "texture");
+    public static final ModelDefinition BUTTON_INVENTORY = Standard("block/button_inventory", "texture");
+    public static final ModelDefinition DOOR_TOP = Standard("minecraft:block/door_top", "top", "bottom");
+    public static final ModelDefinition DOOR_TOP_RH = Standard("minecraft:block/door_top_rh", "top", "bottom");
+    public static final ModelDefinition DOOR_BOTTOM = Standard("minecraft:block/door_bottom", "top", "bottom");
+    public static final ModelDefinition DOOR_BOTTOM_RH = Standard("minecraft:block/door_bottom_rh", "top", "bottom");
+    public static final ModelDefinition FENCE_POST = Standard("minecraft:block/fence_post", "texture");
+    public static final ModelDefinition FENCE_SIDE = Standard("minecraft:block/fence_side", "texture");
+    public static final ModelDefinition FENCE_INVENTORY = Standard("minecraft:block/fence_inventory", "texture");
+    public static final ModelDefinition FENCE_GATE = Standard("minecraft:block/template_fence_gate", "texture");
+    public static final ModelDefinition FENCE_GATE_OPEN = Standard("minecraft:block/template_fence_gate_open", "texture");
+    public static final ModelDefinition FENCE_GATE_WALL = Standard("minecraft:block/template_fence_gate_wall", "texture");
+    public static final ModelDefinition FENCE_GATE_WALL_OPEN = Standard("minecraft:block/template_fence_gate_wall_open", "texture");
+    public static final ModelDefinition PRESSURE_PLATE_UP = Standard("block/pressure_plate_up", "texture");
+    public static final ModelDefinition PRESSURE_PLATE_DOWN = Standard("block/pressure_plate_down", "texture");
+    public static final ModelDefinition SLAB = Standard("minecraft:block/slab", "bottom", "top", "side");
+    public static final ModelDefinition SLAB_TOP = Standard("minecraft:block/slab_top", "bottom", "top", "side");
+    public static final ModelDefinition STAIRS = Standard("minecraft:block/stairs", "bottom", "top", "side");
+    public static final ModelDefinition INNER_STAIRS = Standard("minecraft:block/inner_stairs", "bottom", "top", "side");
+    public static final ModelDefinition OUTER_STAIRS = Standard("minecraft:block/outer_stairs", "bottom", "top", "side");
+    public static final ModelDefinition TRAPDOOR_BOTTOM = Standard("minecraft:block/template_trapdoor_bottom", "texture");
+    public static final ModelDefinition TRAPDOOR_TOP = Standard("minecraft:block/template_trapdoor_top", "texture");
+    public static final ModelDefinition TRAPDOOR_OPEN = Standard("minecraft:block/template_trapdoor_open", "texture");
+    public static final ModelDefinition WALL_POST = Standard("minecraft:block/template_wall_post", "wall");
+    public static final ModelDefinition WALL_SIDE = Standard("minecraft:block/template_wall_side", "wall");
+    public static final ModelDefinition WALL_SIDE_TALL = Standard("minecraft:block/template_wall_side_tall", "wall");
+    public static final ModelDefinition WALL_INVENTORY = Standard("minecraft:block/wall_inventory", "wall");
+    public static final ModelDefinition CROSS = Standard("minecraft:block/cross", "cross");
+
+    //- Item models -//
+    //The parent is filled in, as block items inherit from their block's model
+    public static final JsonTemplate BLOCK_ITEM = JsonTemplate.Compile("""
+            {
+             "parent": "${parent}"
+            }""", "parent");
+    //The type is the item model it inherits from, e.g. handheld or generated
+    public static final JsonTemplate ITEM = JsonTemplate.Compile("""
+            {
+             "parent": "item/${type}",
+             "textures": {
+              "layer0": "${layer0}"
+             }
+            }""", "type", "layer0");
+
+    private static ModelDefinition Standard(String parent, String... slots){
+        return Register(ModelDefinition.Standard(parent, slots));
+    }
+
+    private static ModelDefinition Register(ModelDefinition definition){
+        if(!PARENTS.add(definition.parent))
+            throw new IllegalStateException(definition.parent + " already has a model definition");
+        return definition;
+    }
+}
@@ -0,0 +1,22 @@
+/***
+ * OutputSink
+ *
+ * This interface is where the Generator sends every file it renders.
+ * Implementations decide where the files end up, e.g. on disk, in memory, or in a zip.
+ * Only the first file written for a given path is kept, as with a fresh assets tree.
+ */
+public interface OutputSink {
+    void Write(String namespace, AssetType type, String name, byte[] content, WriteListener listener);
+
+    default void Write(String namespace, AssetType type, String name, byte[] content){
+        Write(namespace, type, name, content, WriteListener.NONE);
+    }
+
+    //Writes out anything that is still waiting to be written
+    void Flush();
+
+    //Flushes, and releases anything held open by the sink
+    default void Close(){
+        Flush();
+    }
+}
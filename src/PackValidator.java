@@ -0,0 +1,364 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/***
+ * PackValidator
+ *
+ * This class checks that everything a generated pack refers to is in the pack: the models
+ * named by blockstates and parents, the textures of models, and the items and tags of
+ * recipes and loot tables.
+ *
+ * Every file path in the pack is indexed into a hash set first, and then each JSON file is
+ * scanned once, looking each reference up in the index as it is found.
+ * A reference is only checked if the pack has files of its kind in its namespace, so
+ * references to vanilla models, or to textures when the pack has none, are left alone.
+ *
+ * Recipe ingredients are often items from the mod that this tool doesn't generate, such as
+ * the base material of an armour set, so a missing ingredient is only a warning, and doesn't
+ * make the pack invalid. A missing recipe result is still a broken reference.
+ *
+ * The same pass hands every recipe to a RecipeConflicts, to find shaped recipes that can't be
+ * told apart in game.
+ */
+public class PackValidator {
+    public enum Reference{
+        MODEL("assets", "models/", ".json"),
+        TEXTURE("assets", "textures/", ".png"),
+        //Items have no file of their own, so an item counts as generated if it has an item model
+        ITEM("assets", "models/item/", ".json"),
+        TAG("data", "tags/items/", ".json");
+
+        private final String root;
+        private final String folder;
+        private final String extension;
+
+        Reference(String root, String folder, String extension){
+            this.root = root;
+            this.folder = folder;
+            this.extension = extension;
+        }
+
+        //e.g. assets/{mod}/models/
+        String GetFolder(String namespace){
+            return root + "/" + namespace + "/" + folder;
+        }
+    }
+
+    public static class BrokenReference {
+        //The path inside the pack of the file with the reference in it
+        public final String file;
+        public final Reference kind;
+        public final String id;
+        //Where the file the reference names should have been
+        public final String expectedPath;
+        //Whether the reference is a recipe ingredient, which is only warned about
+        public final boolean warning;
+
+        BrokenReference(String file, Reference kind, String id, String expectedPath, boolean warning){
+            this.file = file;
+            this.kind = kind;
+            this.id = id;
+            this.expectedPath = expectedPath;
+            this.warning = warning;
+        }
+    }
+
+    //Every file in the pack, and every folder of a Reference that has files in it
+    private final Set<String> index;
+    private final Set<String> folders = new HashSet<>();
+    private final List<BrokenReference> broken;
+    private final List<BrokenReference> warnings;
+    private final RecipeConflicts recipeConflicts = new RecipeConflicts();
+    private final int filesChecked;
+
+    private PackValidator(Collection<String> packPaths, Function<String, byte[]> reader){
+        index = new HashSet<>(packPaths);
+        for (String packPath : packPaths) {
+            IndexFolders(packPath);
+        }
+        List<String> jsonFiles = packPaths.stream().filter(path -> path.endsWith(".json")).toList();
+        filesChecked = jsonFiles.size();
+        Map<Boolean, List<BrokenReference>> found = jsonFiles.parallelStream()
+                .flatMap(path -> Check(path, reader.apply(path)).stream())
+                .sorted(Comparator.comparing((BrokenReference reference) -> reference.file).thenComparing(reference -> reference.id))
+                .collect(Collectors.partitioningBy(reference -> reference.warning, Collectors.toCollection(ArrayList::new)));
+        broken = found.get(false);
+        warnings = found.get(true);
+    }
+
+    //Validates files that are in memory, keyed by their path inside the pack
+    public static PackValidator Validate(Map<String, byte[]> files){
+        return new PackValidator(files.keySet(), files::get);
+    }
+
+    //Validates the files in the assets and data directories of the layout
+    public static PackValidator Validate(AssetLayout layout){
+        Map<String, Path> files = new HashMap<>();
+        ListFiles(layout.GetAssetsRoot(), "assets/", files);
+        ListFiles(layout.GetDataRoot(), "data/", files);
+        return new PackValidator(files.keySet(), packPath -> ReadFile(files.get(packPath)));
+    }
+
+    //Validates the entries of a zip or jar
+    public static PackValidator Validate(Path archive) throws IOException {
+        Map<String, byte[]> files = new HashMap<>();
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if(!entry.isDirectory())
+                    files.put(entry.getName(), entry.getName().endsWith(".json") ? zip.getInputStream(entry).readAllBytes() : null);
+            }
+        }
+        return Validate(files);
+    }
+
+    public List<BrokenReference> GetBrokenReferences(){
+        return broken;
+    }
+
+    //The recipe ingredients that aren't in the pack
+    public List<BrokenReference> GetWarnings(){
+        return warnings;
+    }
+
+    public RecipeConflicts GetRecipeConflicts(){
+        return recipeConflicts;
+    }
+
+    public boolean IsValid(){
+        return broken.isEmpty() && recipeConflicts.GetConflicts().isEmpty();
+    }
+
+    //The number of files indexed and checked, followed by every broken reference, warning and recipe conflict
+    public String Summary(){
+        StringBuilder summary = new StringBuilder()
+                .append(index.size()).append(" files indexed, ")
+                .append(filesChecked).append(" checked, ")
+                .append(broken.size()).append(" broken references, ")
+                .append(warnings.size()).append(" warnings\n");
+        for (BrokenReference reference : broken) {
+            AppendReference(summary, "  ", reference);
+        }
+        for (BrokenReference reference : warnings) {
+            AppendReference(summary, "  warning: ", reference);
+        }
+        return summary.append(recipeConflicts.Summary()).toString();
+    }
+
+    private static void AppendReference(StringBuilder summary, String prefix, BrokenReference reference){
+        summary.append(prefix).append(reference.file).append(": ").append(reference.kind).append(' ').append(reference.id)
+                .append(" (no ").append(reference.expectedPath).append(")\n");
+    }
+
+    //Records the folders of the pack path that a reference can point into, e.g. assets/{mod}/models/
+    //and assets/{mod}/models/item/ for an item model
+    private void IndexFolders(String packPath){
+        int end = -1;
+        for (int depth = 0; depth < 4; depth++) {
+            end = packPath.indexOf('/', end + 1);
+            if(end < 0)
+                return;
+            if(depth >= 2)
+                folders.add(packPath.substring(0, end + 1));
+        }
+    }
+
+    //- Scanning -//
+    //The names that references are found under. Names are matched against these bytes, so only
+    //the values that are references are ever decoded.
+    private static final byte[][] NAMES = {
+            "model".getBytes(StandardCharsets.UTF_8), "parent".getBytes(StandardCharsets.UTF_8),
+            "item".getBytes(StandardCharsets.UTF_8), "tag".getBytes(StandardCharsets.UTF_8),
+            "name".getBytes(StandardCharsets.UTF_8), "textures".getBytes(StandardCharsets.UTF_8),
+            "result".getBytes(StandardCharsets.UTF_8)
+    };
+    private static final int OTHER = -1, MODEL = 0, PARENT = 1, ITEM = 2, TAG = 3, NAME = 4, TEXTURES = 5, RESULT = 6;
+
+    //Finds the references in a file by following its names, without building the whole document.
+    //Each string is either a name, if a ':' follows it, or a value of the last name,
+    //inside the object or array that the name before that opened.
+    private List<BrokenReference> Check(String packPath, byte[] json){
+        List<BrokenReference> found = new ArrayList<>();
+        if(json == null)
+            return found;
+        //A file often names the same model more than once, e.g. a blockstate with a variant for each facing
+        Set<String> checked = new HashSet<>();
+        boolean model = packPath.contains("/models/");
+        boolean lootTable = packPath.contains("/loot_tables/");
+        boolean recipe = packPath.contains("/recipes/");
+        if(recipe)
+            recipeConflicts.Add(packPath, json);
+        //The name that opened each object or array that is still open
+        int[] openedBy = new int[16];
+        int depth = 0;
+        int name = OTHER;
+        int i = 0;
+        while (i < json.length) {
+            byte c = json[i];
+            if(c == '"') {
+                int end = EndOfString(json, i);
+                int next = SkipWhitespace(json, end + 1);
+                if(next < json.length && json[next] == ':') {
+                    name = NameOf(json, i + 1, end);
+                    i = next + 1;
+                    continue;
+                }
+                int container = (depth == 0) ? OTHER : openedBy[depth - 1];
+                Reference kind = ReferenceKind(name, container, model, lootTable);
+                if(kind == Reference.TEXTURE && end > i + 1 && json[i + 1] == '#')
+                    kind = null;
+                if(kind != null) {
+                    String id = ReadString(json, i + 1, end);
+                    //Every item in a recipe other than its result is an ingredient
+                    boolean ingredient = recipe && kind == Reference.ITEM && container != RESULT;
+                    if(checked.add(id))
+                        CheckReference(packPath, kind, id, ingredient, found);
+                }
+                name = OTHER;
+                i = end + 1;
+                continue;
+            }
+            if(c == '{' || c == '[') {
+                if(depth == openedBy.length)
+                    openedBy = Arrays.copyOf(openedBy, depth * 2);
+                openedBy[depth++] = name;
+                name = OTHER;
+            } else if(c == '}' || c == ']') {
+                if(depth > 0)
+                    depth--;
+                name = OTHER;
+            } else if(c == ',') {
+                name = OTHER;
+            }
+            i++;
+        }
+        return found;
+    }
+
+    //Texture variables, such as "#all", refer to another texture of the model rather than a file
+    private static Reference ReferenceKind(int name, int container, boolean model, boolean lootTable){
+        if(model && container == TEXTURES)
+            return Reference.TEXTURE;
+        return switch (name) {
+            case MODEL, PARENT -> Reference.MODEL;
+            case ITEM -> Reference.ITEM;
+            case TAG -> Reference.TAG;
+            case NAME -> (lootTable) ? Reference.ITEM : null;
+            default -> null;
+        };
+    }
+
+    private static int NameOf(byte[] json, int start, int end){
+        for (int n = 0; n < NAMES.length; n++) {
+            if(Arrays.equals(json, start, end, NAMES[n], 0, NAMES[n].length))
+                return n;
+        }
+        return OTHER;
+    }
+
+    private void CheckReference(String packPath, Reference kind, String id, boolean warning, List<BrokenReference> found){
+        int colon = id.indexOf(':');
+        String namespace = (colon < 0) ? "minecraft" : id.substring(0, colon);
+        String folder = kind.GetFolder(namespace);
+        if(!folders.contains(folder))
+            return;
+        String expectedPath = folder + id.substring(colon + 1) + kind.extension;
+        if(!index.contains(expectedPath))
+            found.add(new BrokenReference(packPath, kind, id, expectedPath, warning));
+    }
+
+    //The index of the closing quote of the string that opens at start
+    private static int EndOfString(byte[] json, int start){
+        int i = start + 1;
+        while (i < json.length && json[i] != '"') {
+            i += (json[i] == '\\') ? 2 : 1;
+        }
+        return Math.min(i, json.length);
+    }
+
+    private static int SkipWhitespace(byte[] json, int i){
+        while (i < json.length && (json[i] == ' ' || json[i] == '\n' || json[i] == '\r' || json[i] == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    //Decodes the contents of a JSON string, which only needs unescaping if it has a backslash in it
+    private static String ReadString(byte[] json, int start, int end){
+        String text = new String(json, start, end - start, StandardCharsets.UTF_8);
+        if(text.indexOf('\\') < 0)
+            return text;
+        StringBuilder unescaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if(c != '\\' || i + 1 >= text.length()) {
+                unescaped.append(c);
+                continue;
+            }
+            char escaped = text.charAt(++i);
+            switch (escaped) {
+                case 'n' -> unescaped.append('\n');
+                case 'r' -> unescaped.append('\r');
+                case 't' -> unescaped.append('\t');
+                case 'b' -> unescaped.append('\b');
+                case 'f' -> unescaped.append('\f');
+                case 'u' -> {
+                    if(i + 4 < text.length()) {
+                        unescaped.append((char) Integer.parseInt(text.substring(i + 1, i + 5), 16));
+                        i += 4;
+                    }
+                }
+                default -> unescaped.append(escaped);
+            }
+        }
+        return unescaped.toString();
+    }
+
+    //- Reading from disk -//
+    private static void ListFiles(Path root, String prefix, Map<String, Path> files){
+        if(!Files.isDirectory(root))
+            return;
+        try (Stream<Path> walk = Files.walk(root)) {
+            walk.filter(Files::isRegularFile).forEach(file -> {
+                StringBuilder packPath = new StringBuilder(prefix);
+                for (Path part : root.relativize(file)) {
+                    if(packPath.length() > prefix.length())
+                        packPath.append('/');
+                    packPath.append(part);
+                }
+                files.put(packPath.toString(), file);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("IO error listing files in " + root, e);
+        }
+    }
+
+    private static byte[] ReadFile(Path file){
+        try{
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            //A file that can't be read has nothing to check
+            System.out.println("IO error reading file " + file.getFileName() + ", skipping it: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * ParallelGenerator
+ *
+ * This class runs the sets of a Generator in parallel, on a work-stealing pool.
+ * Each material is submitted as its own task, which then forks every part of its
+ * sets (the button, the door, the fence...) so idle threads can steal them.
+ *
+ * The parts of a set never write the same file, so the generated files are the same
+ * as when the sets are generated one after another. Materials whose names overlap
+ * (e.g. "oak" and "stripped_oak") should still be generated serially.
+ */
+public class ParallelGenerator {
+    //How long one material took to generate, in nanoseconds
+    public record MaterialDuration(String material, long nanos) {}
+
+    private final Generator generator;
+    private final ForkJoinPool pool;
+
+    public ParallelGenerator(Generator generator){
+        this(generator, Runtime.getRuntime().availableProcessors());
+    }
+    public ParallelGenerator(Generator generator, int threads){
+        this.generator = generator;
+        pool = new ForkJoinPool(threads);
+    }
+
+    //Generates a single set, waiting for all of its parts to finish
+    public void GenerateSet(Generator.SetType set, String blockName){
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(GetTasks(null, blockName, set))));
+    }
+
+    //Generates the given sets for every material, and returns how long each material took,
+    //in the same order as the materials (a material listed twice has two durations)
+    public List<MaterialDuration> GenerateMaterials(String[] materials, Generator.SetType... sets){
+        return TimeMaterials(null, materials, sets);
+    }
+    //As above, but the outcome of every file is collected in a new result, instead of letting errors escape.
+    //In FAIL_FAST mode the first failure cancels every part that has not started yet.
+    public GenerationResult GenerateMaterials(GenerationResult.FailureMode mode, String[] materials, Generator.SetType... sets){
+        GenerationResult result = new GenerationResult(mode);
+        GenerateMaterials(result, materials, sets);
+        return result;
+    }
+    public List<MaterialDuration> GenerateMaterials(GenerationResult result, String[] materials, Generator.SetType... sets){
+        return TimeMaterials(result, materials, sets);
+    }
+
+    public static void PrintDurations(List<MaterialDuration> durations){
+        for (MaterialDuration duration : durations) {
+            System.out.println(duration.material() + " generated in " + TimeUnit.NANOSECONDS.toMillis(duration.nanos()) + "ms");
+        }
+    }
+
+    public void Shutdown(){
+        pool.shutdown();
+    }
+
+    private List<MaterialDuration> TimeMaterials(GenerationResult result, String[] materials, Generator.SetType[] sets){
+        List<ForkJoinTask<Long>> tasks = new ArrayList<>();
+        for (String material : materials) {
+            tasks.add(pool.submit(() -> TimeMaterial(result, material, sets)));
+        }
+        List<MaterialDuration> durations = new ArrayList<>(materials.length);
+        for (int i = 0; i < materials.length; i++) {
+            durations.add(new MaterialDuration(materials[i], tasks.get(i).join()));
+        }
+        return durations;
+    }
+
+    private long TimeMaterial(GenerationResult result, String material, Generator.SetType[] sets){
+        long start = System.nanoTime();
+        ForkJoinTask.invokeAll(GetTasks(result, material, sets));
+        return System.nanoTime() - start;
+    }
+
+    //Without a result the parts are run as they are, otherwise they record their outcomes in it
+    private List<ForkJoinTask<?>> GetTasks(GenerationResult result, String material, Generator.SetType... sets){
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (Generator.SetType set : sets) {
+            for (Map.Entry<String, Runnable> part : generator.GetSetParts(set, material).entrySet()) {
+                Runnable task = (result == null)
+                        ? part.getValue()
+                        : generator.InResult(result, material + " " + part.getKey(), part.getValue());
+                tasks.add(ForkJoinTask.adapt(task));
+            }
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,149 @@
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/***
+ * PipelinedAssetWriter
+ *
+ * This class lets rendering and writing overlap. Rendered assets are put on bounded queues,
+ * and a set of writer threads take them off and pass them to another AssetWriter.
+ * When the queues are full, Write blocks until the writers catch up, so the renderers
+ * can never get too far ahead of the disk.
+ *
+ * Every path always goes to the same writer thread, so assets for one path are still
+ * written in the order they were queued.
+ *
+ * The most assets that were waiting at once, and the fraction of the time between the first
+ * asset being queued and the last being written that the writer threads were busy, show
+ * whether the renderers or the disk held the run up.
+ */
+public class PipelinedAssetWriter implements AssetWriter {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private static final class Job {
+        final Path destination;
+        final byte[] content;
+        final WriteListener listener;
+        final CountDownLatch flushed;
+
+        Job(Path destination, byte[] content, WriteListener listener, CountDownLatch flushed){
+            this.destination = destination;
+            this.content = content;
+            this.listener = listener;
+            this.flushed = flushed;
+        }
+    }
+
+    private final AssetWriter writer;
+    private final BlockingQueue<Job>[] queues;
+    private final Thread[] writerThreads;
+    private final AtomicLong busyNanos = new AtomicLong();
+    //The assets queued and not yet taken by a writer, and the most there have been
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger maxQueued = new AtomicInteger();
+    //When the first asset was queued and the last was written, or 0 before then
+    private final AtomicLong firstQueuedNanos = new AtomicLong();
+    private final AtomicLong lastWrittenNanos = new AtomicLong();
+    private volatile boolean running = true;
+
+    public PipelinedAssetWriter(AssetWriter writer){
+        this(writer, Math.max(1, Runtime.getRuntime().availableProcessors() / 2), DEFAULT_QUEUE_CAPACITY);
+    }
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public PipelinedAssetWriter(AssetWriter writer, int writerThreadCount, int queueCapacity){
+        this.writer = writer;
+        queues = new BlockingQueue[writerThreadCount];
+        writerThreads = new Thread[writerThreadCount];
+        //Each writer gets its share of the capacity
+        int capacity = Math.max(1, queueCapacity / writerThreadCount);
+        for (int i = 0; i < writerThreadCount; i++) {
+            BlockingQueue<Job> queue = new ArrayBlockingQueue<>(capacity);
+            queues[i] = queue;
+            writerThreads[i] = new Thread(() -> Drain(queue), "asset-writer-" + i);
+            writerThreads[i].setDaemon(true);
+            writerThreads[i].start();
+        }
+    }
+
+    @Override
+    public void Write(Path destination, byte[] content, WriteListener listener) {
+        firstQueuedNanos.compareAndSet(0, System.nanoTime());
+        int depth = queued.incrementAndGet();
+        if(depth > maxQueued.get())
+            maxQueued.accumulateAndGet(depth, Math::max);
+        Put(queues[Math.floorMod(destination.hashCode(), queues.length)], new Job(destination, content, listener, null));
+    }
+
+    //Waits for every queued asset to be written, then flushes the wrapped writer
+    @Override
+    public void Flush() {
+        CountDownLatch flushed = new CountDownLatch(queues.length);
+        for (BlockingQueue<Job> queue : queues) {
+            Put(queue, new Job(null, null, null, flushed));
+        }
+        try{
+            flushed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.Flush();
+    }
+
+    //Flushes, then stops the writer threads
+    public void Shutdown(){
+        Flush();
+        running = false;
+        for (Thread thread : writerThreads) {
+            thread.interrupt();
+        }
+    }
+
+    //The most assets that have been waiting to be written at once
+    public int GetMaxQueueDepth(){
+        return maxQueued.get();
+    }
+
+    //The fraction of time the writer threads spent writing, from 0 to 1, between the first asset
+    //being queued and the last being written, so time spent idle before or after the run isn't counted
+    public double GetWriterUtilization(){
+        long elapsed = lastWrittenNanos.get() - firstQueuedNanos.get();
+        return (elapsed <= 0) ? 0 : (double) busyNanos.get() / ((double) elapsed * writerThreads.length);
+    }
+
+    private void Put(BlockingQueue<Job> queue, Job job){
+        try{
+            queue.put(job);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to queue an asset", e);
+        }
+    }
+
+    private void Drain(BlockingQueue<Job> queue){
+        while (running) {
+            Job job;
+            try{
+                job = queue.take();
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if(job.flushed != null) {
+                job.flushed.countDown();
+                continue;
+            }
+            queued.decrementAndGet();
+            long start = System.nanoTime();
+            try{
+                writer.Write(job.destination, job.content, job.listener);
+            } catch (RuntimeException e) {
+                job.listener.Failed(e);
+            }
+            long end = System.nanoTime();
+            busyNanos.addAndGet(end - start);
+            lastWrittenNanos.accumulateAndGet(end, Math::max);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/***
+ * RecipeConflicts
+ *
+ * This class finds shaped crafting recipes that can't be told apart in game, because they
+ * fill the crafting grid the same way with the same ingredients, e.g. a wall and a trapdoor
+ * that both use 2 rows of 3 planks.
+ *
+ * Each recipe is reduced to a canonical pattern: the rows and columns that are only spaces are
+ * removed (a pattern can be placed anywhere on the grid), every symbol is replaced by the
+ * ingredient its key resolves to, and the pattern is compared with its mirror image, keeping
+ * whichever comes first (a pattern also matches mirrored). Recipes are then grouped in a hash
+ * map by their canonical pattern, so conflicts are found in one pass over the recipes, however
+ * many materials and mods there are.
+ *
+ * Recipes can be added from any number of threads.
+ */
+public class RecipeConflicts {
+    public static class Conflict {
+        //The rows of the canonical pattern, with each ingredient written in full
+        public final String pattern;
+        //The paths inside the pack of the recipes that share it, sorted
+        public final List<String> recipes;
+
+        Conflict(String pattern, List<String> recipes){
+            this.pattern = pattern;
+            this.recipes = recipes;
+        }
+    }
+
+    private final Map<String, List<String>> recipesByPattern = new ConcurrentHashMap<>();
+
+    //Adds the recipe file if it is a shaped crafting recipe. Files that can't be read as
+    //a shaped recipe are left out.
+    public void Add(String packPath, byte[] json){
+        Object recipe;
+        try{
+            recipe = JsonReader.Parse(json);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        if(!(recipe instanceof Map<?, ?> object) || !"minecraft:crafting_shaped".equals(object.get("type")))
+            return;
+        if(!(object.get("pattern") instanceof List<?> rows) || !(object.get("key") instanceof Map<?, ?> key))
+            return;
+        List<String> pattern = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            if(!(row instanceof String text))
+                return;
+            pattern.add(text);
+        }
+        Add(packPath, pattern, key);
+    }
+
+    //Adds a shaped recipe, given its pattern rows and the ingredient of each symbol
+    //(an object with an "item" or "tag", or an array of those)
+    public void Add(String recipe, List<String> pattern, Map<?, ?> key){
+        recipesByPattern.compute(CanonicalPattern(pattern, key), (canonical, recipes) -> {
+            List<String> shared = (recipes == null) ? new ArrayList<>(1) : recipes;
+            shared.add(recipe);
+            return shared;
+        });
+    }
+
+    //Every canonical pattern shared by more than one recipe, sorted by the first recipe of each
+    public List<Conflict> GetConflicts(){
+        return recipesByPattern.entrySet().stream()
+                .filter(entry -> entry.getValue().size() > 1)
+                .map(entry -> new Conflict(entry.getKey(), entry.getValue().stream().sorted().toList()))
+                .sorted(Comparator.comparing(conflict -> conflict.recipes.get(0)))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    public int Count(){
+        return recipesByPattern.values().stream().mapToInt(List::size).sum();
+    }
+
+    //Every conflict, with the recipes that share the pattern, followed by the pattern
+    public String Summary(){
+        List<Conflict> conflicts = GetConflicts();
+        StringBuilder summary = new StringBuilder()
+                .append(Count()).append(" shaped recipes checked, ")
+                .append(conflicts.size()).append(" conflicts\n");
+        for (Conflict conflict : conflicts) {
+            summary.append("  ").append(String.join(", ", conflict.recipes)).append('\n');
+            for (String row : conflict.pattern.split("\n")) {
+                summary.append("    ").append(row).append('\n');
+            }
+        }
+        return summary.toString();
+    }
+
+    //- Canonical patterns -//
+    //The pattern is written out row by row, as the ingredient of each slot separated by " | ",
+    //or "-" for an empty slot
+    static String CanonicalPattern(List<String> pattern, Map<?, ?> key){
+        int width = 0;
+        for (String row : pattern) {
+            width = Math.max(width, row.length());
+        }
+        //Find the rows and columns that have something in them
+        int top = pattern.size(), bottom = -1, left = width, right = -1;
+        for (int y = 0; y < pattern.size(); y++) {
+            String row = pattern.get(y);
+            for (int x = 0; x < row.length(); x++) {
+                if(row.charAt(x) == ' ')
+                    continue;
+                top = Math.min(top, y);
+                bottom = Math.max(bottom, y);
+                left = Math.min(left, x);
+                right = Math.max(right, x);
+            }
+        }
+        if(bottom < 0)
+            return "";
+        String[] ingredients = new String[128];
+        String forward = WritePattern(pattern, key, ingredients, top, bottom, left, right, false);
+        String mirrored = WritePattern(pattern, key, ingredients, top, bottom, left, right, true);
+        return (forward.compareTo(mirrored) <= 0) ? forward : mirrored;
+    }
+
+    private static String WritePattern(List<String> pattern, Map<?, ?> key, String[] ingredients,
+                                       int top, int bottom, int left, int right, boolean mirror){
+        StringBuilder canonical = new StringBuilder();
+        for (int y = top; y <= bottom; y++) {
+            if(y > top)
+                canonical.append('\n');
+            String row = pattern.get(y);
+            for (int x = left; x <= right; x++) {
+                int column = (mirror) ? right - (x - left) : x;
+                char symbol = (column < row.length()) ? row.charAt(column) : ' ';
+                if(x > left)
+                    canonical.append(" | ");
+                canonical.append((symbol == ' ') ? "-" : Ingredient(key, symbol, ingredients));
+            }
+        }
+        return canonical.toString();
+    }
+
+    //e.g. item mod:oak_planks, or [item mod:oak_planks, tag c:planks] for an ingredient with alternatives.
+    //Symbols are looked up once each, and remembered in the ingredients array.
+    private static String Ingredient(Map<?, ?> key, char symbol, String[] ingredients){
+        if(symbol < ingredients.length && ingredients[symbol] != null)
+            return ingredients[symbol];
+        Object value = key.get(String.valueOf(symbol));
+        String ingredient;
+        if(value instanceof List<?> alternatives) {
+            List<String> names = new ArrayList<>();
+            for (Object alternative : alternatives) {
+                names.add(IngredientName(alternative, symbol));
+            }
+            names.sort(null);
+            ingredient = names.toString();
+        } else {
+            ingredient = IngredientName(value, symbol);
+        }
+        if(symbol < ingredients.length)
+            ingredients[symbol] = ingredient;
+        return ingredient;
+    }
+
+    private static String IngredientName(Object value, char symbol){
+        if(value instanceof Map<?, ?> ingredient) {
+            if(ingredient.get("item") instanceof String item)
+                return "item " + item;
+            if(ingredient.get("tag") instanceof String tag)
+                return "tag " + tag;
+        }
+        //A symbol without an ingredient can't be crafted, but is still kept apart from the others
+        return "unknown '" + symbol + "'";
+    }
+}
@@ -0,0 +1,99 @@
+import java.util.List;
+
+/***
+ * RecipeSerializer
+ *
+ * This class writes crafting recipes through a JsonWriter, one row or key at a time,
+ * instead of building the file up as a String.
+ * The group is optional for every recipe; pass null to leave it out.
+ *
+ * The pattern of each CraftableItems recipe is the same for every material, so it is
+ * rendered once for each layout, and only the keys and result are rendered for each recipe.
+ */
+public class RecipeSerializer {
+    //The rendered "pattern" value of every CraftableItems recipe, indexed by compact (0 or 1) and then the item
+    private static final byte[][][] PatternSections = new byte[2][Recipes.CraftableItems.values().length][];
+    //The bytes left out of each compact pattern value
+    private static final int[] CompactPatternSavedBytes = new int[Recipes.CraftableItems.values().length];
+
+    static{
+        TemplateBuffer buffer = new TemplateBuffer(256);
+        for (Recipes.CraftableItems item : Recipes.CraftableItems.values()) {
+            for (int compact = 0; compact < 2; compact++) {
+                buffer.Reset();
+                JsonWriter pattern = new JsonWriter(buffer, compact == 1, 1);
+                WritePattern(pattern, Recipes.GetPattern(item));
+                PatternSections[compact][item.ordinal()] = buffer.ToByteArray();
+                if(compact == 1)
+                    CompactPatternSavedBytes[item.ordinal()] = pattern.GetSavedBytes();
+            }
+        }
+    }
+
+    public static void WriteShapeless(JsonWriter out, String modName, RecipeItem ingredient, RecipeItem result, String group){
+        WriteHeader(out, "minecraft:crafting_shapeless", group);
+        out.Name("ingredients").BeginArray()
+                .BeginObject()
+                .EscapedField(ingredient.GetTag(), Id(modName, ingredient.name))
+                .Field("count", ingredient.count)
+                .EndObject()
+                .EndArray();
+        out.Name("result").BeginObject()
+                .EscapedField(result.GetTag(), Id(modName, result.name))
+                .Field("count", result.count)
+                .EndObject();
+        out.EndObject();
+    }
+
+    //The pattern is the rows of the recipe, as given by Recipes.GetPattern or Recipes.TrimPattern
+    public static void WriteShaped(JsonWriter out, String modName, RecipeItem[] ingredients, RecipeItem result, List<String> pattern, String group){
+        WriteHeader(out, "minecraft:crafting_shaped", group);
+        out.Name("pattern");
+        WritePattern(out, pattern);
+        WriteKeysAndResult(out, modName, ingredients, result);
+    }
+
+    //The pattern only depends on the item, so it is copied from the pre-rendered sections
+    public static void WriteShaped(JsonWriter out, String modName, RecipeItem[] ingredients, RecipeItem result, Recipes.CraftableItems item, String group){
+        WriteHeader(out, "minecraft:crafting_shaped", group);
+        int compact = out.IsCompact() ? 1 : 0;
+        out.Name("pattern").RawValue(PatternSections[compact][item.ordinal()],
+                out.IsCompact() ? CompactPatternSavedBytes[item.ordinal()] : 0);
+        WriteKeysAndResult(out, modName, ingredients, result);
+    }
+
+    private static void WriteHeader(JsonWriter out, String type, String group){
+        out.BeginObject().Field("type", type);
+        if(group != null)
+            out.Field("group", group);
+    }
+
+    private static void WritePattern(JsonWriter out, List<String> pattern){
+        out.BeginArray();
+        for (String row : pattern) {
+            out.Value(row);
+        }
+        out.EndArray();
+    }
+
+    private static void WriteKeysAndResult(JsonWriter out, String modName, RecipeItem[] ingredients, RecipeItem result){
+        //Add all of the ingredients to the keys
+        out.Name("key").BeginObject();
+        for (RecipeItem ingredient : ingredients) {
+            out.Name(String.valueOf(ingredient.symbol)).BeginObject()
+                    .EscapedField(ingredient.GetTag(), Id(modName, ingredient.name))
+                    .EndObject();
+        }
+        out.EndObject();
+        //Add the resulting item, and count
+        out.Name("result").BeginObject()
+                .EscapedField("item", Id(modName, result.name))
+                .Field("count", result.count)
+                .EndObject();
+        out.EndObject();
+    }
+
+    private static byte[] Id(String modName, String name){
+        return ResourceLocationCache.SHARED.GetBytes(modName, "", name);
+    }
+}
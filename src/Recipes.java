@@ -1,17 +1,21 @@
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 
 /***
  * Recipes
  *
- * This class stores common Minecraft recipes in a Map. It can be statically accessed,
+ * This class stores common Minecraft recipes in a table. It can be statically accessed,
  * and is mainly used for more readable code, and as a centralised place to define
  * recipe JSON representation.
  *
- * The Character arrays stored represent the 3x3 crafting table grid, in the order
+ * The char arrays stored represent the 3x3 crafting table grid, in the order
  * 0, 1 ,2,
  * 3, 4, 5,
  * 6, 7, 8
  *
+ * The grids are stored in an array indexed by the item, along with the rows of their
+ * pattern, which are worked out once up front.
+ *
  * Authored by Michael Coviello, 2022
  */
 public class Recipes {
@@ -19,33 +23,76 @@ public class Recipes {
         AXE, BOOTS, CHESTPLATE, DOOR, FENCE, FENCE_GATE, HELMET ,HOE, LEGGINGS, PICKAXE, PRESSURE_PLATE, SHOVEL,
         SLAB, STAIRS, STICK, STRIPPED_WOOD, SWORD, TRAPDOOR, WALL, WOOD,
     }
-    private static final HashMap<CraftableItems, Character[]> ShapedRecipes = new HashMap<>();
+    private static final char[][] ShapedRecipes = new char[CraftableItems.values().length][];
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final List<String>[] Patterns = new List[CraftableItems.values().length];
 
     //Defining the recipes for some items, so they can be accessed quickly
     static{
-        ShapedRecipes.put(CraftableItems.AXE,               new Character[] {'\0','X','X','\0','X','#','\0',' ','#'});
-        ShapedRecipes.put(CraftableItems.BOOTS,             new Character[] {' ',' ',' ','X',' ','X','X',' ','X'});
-        ShapedRecipes.put(CraftableItems.CHESTPLATE,        new Character[] {'X',' ','X','X','X','X','X','X','X'});
-        ShapedRecipes.put(CraftableItems.DOOR,              new Character[] {'\0','#','#','\0','#','#','\0','#','#'});
-        ShapedRecipes.put(CraftableItems.FENCE,             new Character[] {'W','#','W','W','#','W','\0','\0','\0'});
-        ShapedRecipes.put(CraftableItems.FENCE_GATE,        new Character[] {'#','W','#','#','W','#','\0','\0','\0'});
-        ShapedRecipes.put(CraftableItems.HELMET,            new Character[] {'X','X','X','X',' ','X',' ',' ',' '});
-        ShapedRecipes.put(CraftableItems.HOE,               new Character[] {'\0','X','X','\0',' ','#','\0',' ','#'});
-        ShapedRecipes.put(CraftableItems.LEGGINGS,          new Character[] {'X','X','X','X',' ','X','X',' ','X'});
-        ShapedRecipes.put(CraftableItems.PICKAXE,           new Character[] {'X','X','X',' ','#',' ',' ','#',' '});
-        ShapedRecipes.put(CraftableItems.PRESSURE_PLATE,    new Character[] {'\0','#','#','\0','\0','\0','\0','\0','\0'});
-        ShapedRecipes.put(CraftableItems.SHOVEL,            new Character[] {'\0','X','\0','\0','#','\0','\0','#','\0'});
-        ShapedRecipes.put(CraftableItems.SLAB,              new Character[] {'#','#','#','\0','\0','\0','\0','\0','\0'});
-        ShapedRecipes.put(CraftableItems.STAIRS,            new Character[] {'#',' ',' ','#','#',' ','#','#','#'});
-        ShapedRecipes.put(CraftableItems.STICK,             new Character[] {'#','\0','\0','#','\0','\0','\0','\0','\0'});
-        ShapedRecipes.put(CraftableItems.STRIPPED_WOOD,     new Character[] {'#','#','\0','#','#','\0','\0','\0','\0'});
-        ShapedRecipes.put(CraftableItems.SWORD,             new Character[] {'\0','X','\0','\0','X','\0','\0','#','\0'});
-        ShapedRecipes.put(CraftableItems.TRAPDOOR,          new Character[] {'#','#','#','#','#','#','\0','\0','\0'});
-        ShapedRecipes.put(CraftableItems.WALL,              new Character[] {'#','#','#','#','#','#','\0','\0','\0'});
-        ShapedRecipes.put(CraftableItems.WOOD,              new Character[] {'\0','#','#','\0','#','#','\0','\0','\0'});
+        Put(CraftableItems.AXE,               new char[] {'\0','X','X','\0','X','#','\0',' ','#'});
+        Put(CraftableItems.BOOTS,             new char[] {' ',' ',' ','X',' ','X','X',' ','X'});
+        Put(CraftableItems.CHESTPLATE,        new char[] {'X',' ','X','X','X','X','X','X','X'});
+        Put(CraftableItems.DOOR,              new char[] {'\0','#','#','\0','#','#','\0','#','#'});
+        Put(CraftableItems.FENCE,             new char[] {'W','#','W','W','#','W','\0','\0','\0'});
+        Put(CraftableItems.FENCE_GATE,        new char[] {'#','W','#','#','W','#','\0','\0','\0'});
+        Put(CraftableItems.HELMET,            new char[] {'X','X','X','X',' ','X',' ',' ',' '});
+        Put(CraftableItems.HOE,               new char[] {'\0','X','X','\0',' ','#','\0',' ','#'});
+        Put(CraftableItems.LEGGINGS,          new char[] {'X','X','X','X',' ','X','X',' ','X'});
+        Put(CraftableItems.PICKAXE,           new char[] {'X','X','X',' ','#',' ',' ','#',' '});
+        Put(CraftableItems.PRESSURE_PLATE,    new char[] {'\0','#','#','\0','\0','\0','\0','\0','\0'});
+        Put(CraftableItems.SHOVEL,            new char[] {'\0','X','\0','\0','#','\0','\0','#','\0'});
+        Put(CraftableItems.SLAB,              new char[] {'#','#','#','\0','\0','\0','\0','\0','\0'});
+        Put(CraftableItems.STAIRS,            new char[] {'#',' ',' ','#','#',' ','#','#','#'});
+        Put(CraftableItems.STICK,             new char[] {'#','\0','\0','#','\0','\0','\0','\0','\0'});
+        Put(CraftableItems.STRIPPED_WOOD,     new char[] {'#','#','\0','#','#','\0','\0','\0','\0'});
+        Put(CraftableItems.SWORD,             new char[] {'\0','X','\0','\0','X','\0','\0','#','\0'});
+        Put(CraftableItems.TRAPDOOR,          new char[] {'#','#','#','#','#','#','\0','\0','\0'});
+        Put(CraftableItems.WALL,              new char[] {'#','#','#','#','#','#','\0','\0','\0'});
+        Put(CraftableItems.WOOD,              new char[] {'\0','#','#','\0','#','#','\0','\0','\0'});
+    }
+
+    private static void Put(CraftableItems item, char[] recipe){
+        ShapedRecipes[item.ordinal()] = recipe;
+        Patterns[item.ordinal()] = TrimPattern(recipe);
     }
 
+    //Returns a copy of the 3x3 grid for the item
     public static Character[] GetRecipe(CraftableItems item){
-        return ShapedRecipes.get(item);
+        char[] recipe = ShapedRecipes[item.ordinal()];
+        Character[] copy = new Character[recipe.length];
+        for (int i = 0; i < recipe.length; i++) {
+            copy[i] = recipe[i];
+        }
+        return copy;
+    }
+
+    //Returns the rows of the recipe's pattern, with the unused slots and rows already removed.
+    //The list can't be modified.
+    public static List<String> GetPattern(CraftableItems item){
+        return Patterns[item.ordinal()];
+    }
+
+    //Turns a 3x3 grid into the rows of a recipe pattern. '\0' marks an unused slot,
+    //and rows with no used slots are left out.
+    public static List<String> TrimPattern(Character[] recipe){
+        char[] grid = new char[recipe.length];
+        for (int i = 0; i < recipe.length; i++) {
+            grid[i] = recipe[i];
+        }
+        return TrimPattern(grid);
+    }
+    private static List<String> TrimPattern(char[] recipe){
+        List<String> rows = new ArrayList<>(3);
+        StringBuilder row = new StringBuilder(3);
+        for (int i = 0; i < 3; ++i){
+            row.setLength(0);
+            for(int j = i * 3; j < (i*3) + 3; ++j){
+                if(recipe[j] != '\0')
+                    row.append(recipe[j]);
+            }
+            if(row.length() > 0)
+                rows.add(row.toString());
+        }
+        return List.copyOf(rows);
     }
 }
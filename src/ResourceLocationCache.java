@@ -0,0 +1,117 @@
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/***
+ * ResourceLocationCache
+ *
+ * This class caches namespaced identifiers, such as "mod:block/oak_planks", so each one
+ * is only built (and encoded to UTF-8, escaped for a JSON string) once, and then shared by
+ * every blockstate, model, loot table and recipe that refers to it.
+ *
+ * An identifier is made from a namespace, a kind (e.g. "block", or "" for none) and a name.
+ * Identifiers are kept in concurrent maps, one for each namespace and kind, so a lookup takes
+ * no lock and allocates nothing, and the parallel generators never wait on each other for one.
+ *
+ * The cache holds about its capacity. Each identifier remembers when it was last used, counted
+ * in identifiers added, and once the cache is over capacity the ones that haven't been used
+ * for a while are dropped, so the least recently used go first.
+ */
+public class ResourceLocationCache {
+    public static final int DEFAULT_CAPACITY = 16384;
+    //Shared by every Generator, so batch runs reuse the same identifiers
+    public static final ResourceLocationCache SHARED = new ResourceLocationCache(DEFAULT_CAPACITY);
+
+    public static final class ResourceLocation {
+        public final String id;
+        //The id as the contents of a JSON string
+        public final byte[] bytes;
+        //The value of the clock when the id was last used. Racy, as it only needs to be roughly right.
+        private long lastUsed;
+
+        private ResourceLocation(String id, long now){
+            this.id = id;
+            bytes = JsonWriter.Escape(id);
+            lastUsed = now;
+        }
+    }
+
+    private final int capacity;
+    //Namespace, then kind, then name
+    private final Map<String, Map<String, Map<String, ResourceLocation>>> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    //Counts the identifiers added
+    private final AtomicLong clock = new AtomicLong();
+
+    public ResourceLocationCache(int capacity){
+        this.capacity = capacity;
+    }
+
+    public ResourceLocation Get(String namespace, String kind, String name){
+        Map<String, ResourceLocation> names = GetNames(Objects.requireNonNull(namespace), kind);
+        ResourceLocation location = names.get(name);
+        if(location != null) {
+            //Only written when the clock has moved, so threads sharing an identifier rarely write to it
+            long now = clock.get();
+            if(location.lastUsed != now)
+                location.lastUsed = now;
+            return location;
+        }
+        ResourceLocation added = new ResourceLocation(kind.isEmpty() ? namespace + ":" + name : namespace + ":" + kind + "/" + name,
+                clock.incrementAndGet());
+        location = names.putIfAbsent(name, added);
+        if(location != null)
+            return location;
+        if(size.incrementAndGet() > capacity)
+            Evict();
+        return added;
+    }
+
+    public String GetId(String namespace, String kind, String name){
+        return Get(namespace, kind, name).id;
+    }
+
+    public byte[] GetBytes(String namespace, String kind, String name){
+        return Get(namespace, kind, name).bytes;
+    }
+
+    public int Size(){
+        return size.get();
+    }
+
+    private Map<String, ResourceLocation> GetNames(String namespace, String kind){
+        Map<String, Map<String, ResourceLocation>> kinds = cache.get(namespace);
+        if(kinds == null)
+            kinds = cache.computeIfAbsent(namespace, key -> new ConcurrentHashMap<>());
+        Map<String, ResourceLocation> names = kinds.get(kind);
+        if(names == null)
+            names = kinds.computeIfAbsent(kind, key -> new ConcurrentHashMap<>());
+        return names;
+    }
+
+    //Drops the identifiers that haven't been used in the last half a capacity's worth of additions,
+    //or, if they have all been used since then, every identifier that hasn't been used since the last one
+    private synchronized void Evict(){
+        if(size.get() <= capacity)
+            return;
+        long now = clock.get();
+        RemoveUsedBefore(now - capacity / 2);
+        if(size.get() > capacity)
+            RemoveUsedBefore(now);
+    }
+
+    private void RemoveUsedBefore(long time){
+        for (Map<String, Map<String, ResourceLocation>> kinds : cache.values()) {
+            for (Map<String, ResourceLocation> names : kinds.values()) {
+                names.values().removeIf(location -> {
+                    if(location.lastUsed >= time)
+                        return false;
+                    size.decrementAndGet();
+                    return true;
+                });
+            }
+        }
+    }
+}
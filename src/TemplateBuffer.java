@@ -0,0 +1,101 @@
+import java.util.Arrays;
+
+/***
+ * TemplateBuffer
+ *
+ * This class is a growable byte buffer that JsonTemplates are rendered into.
+ * It is meant to be reset and reused for every file, so rendering doesn't need to
+ * build up a new String each time.
+ */
+public class TemplateBuffer {
+    private byte[] bytes;
+    private int length = 0;
+
+    public TemplateBuffer(){
+        this(4096);
+    }
+    public TemplateBuffer(int capacity){
+        bytes = new byte[capacity];
+    }
+
+    public void Reset(){
+        length = 0;
+    }
+
+    public int Length(){
+        return length;
+    }
+
+    public void Append(byte[] toAppend){
+        EnsureCapacity(toAppend.length);
+        System.arraycopy(toAppend, 0, bytes, length, toAppend.length);
+        length += toAppend.length;
+    }
+
+    //Appends the text as UTF-8, without creating a byte array for it first
+    public void AppendUtf8(CharSequence text){
+        AppendUtf8(text, 0, text.length());
+    }
+    //Appends the characters of the text from start up to end
+    public void AppendUtf8(CharSequence text, int start, int end){
+        EnsureCapacity((end - start) * 3);
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if(c < 0x80) {
+                bytes[length++] = (byte) c;
+            } else if(c < 0x800) {
+                bytes[length++] = (byte) (0xC0 | (c >> 6));
+                bytes[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if(Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if(Character.isSurrogate(c)) {
+                //Unpaired surrogates can't be encoded, so they are replaced like String.getBytes does
+                bytes[length++] = '?';
+            } else {
+                bytes[length++] = (byte) (0xE0 | (c >> 12));
+                bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    public void AppendChar(char c){
+        if(c < 0x80) {
+            EnsureCapacity(1);
+            bytes[length++] = (byte) c;
+        } else {
+            AppendUtf8(String.valueOf(c));
+        }
+    }
+
+    public void AppendInt(int value){
+        if(value < 0) {
+            AppendUtf8(Integer.toString(value));
+            return;
+        }
+        int digits = 1;
+        for (int i = value; i >= 10; i /= 10) {
+            digits++;
+        }
+        EnsureCapacity(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            bytes[i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    public byte[] ToByteArray(){
+        return Arrays.copyOf(bytes, length);
+    }
+
+    private void EnsureCapacity(int extra){
+        if(length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+}
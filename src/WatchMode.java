@@ -0,0 +1,199 @@
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/***
+ * WatchMode
+ *
+ * This class keeps the generated files up to date while a mod is being worked on.
+ * It generates everything in a material manifest, and then watches the manifest and
+ * the texture folder (and every folder inside it) for changes:
+ *
+ *  - When the manifest changes, only the materials and sets that were added are generated.
+ *  - When a texture changes, only the part of its material the texture belongs to is
+ *    regenerated, e.g. oak_door_bottom.png regenerates the oak door. Textures that don't
+ *    belong to a part (e.g. oak.png) regenerate every set of the material.
+ *
+ * Changes that arrive close together are handled together.
+ * If a metrics file is given, the metrics are saved to it after every update.
+ */
+public class WatchMode {
+    private static final long DEBOUNCE_MILLIS = 50;
+
+    private final Path manifestFile;
+    private final Path textureDirectory;
+    private final OutputSink sink;
+    private final GeneratorMetrics metrics;
+    private final Path metricsFile;
+    private final boolean compact;
+    private final Map<String, Generator> generators = new HashMap<>();
+    //The sets that have been generated for each material, keyed by mod and material
+    private final Map<String, EnumSet<Generator.SetType>> generated = new HashMap<>();
+    private List<BatchManifest.Entry> entries = List.of();
+
+    //The metrics file may be null, to only count the metrics in memory
+    public WatchMode(Path manifestFile, Path textureDirectory, OutputSink sink, GeneratorMetrics metrics, Path metricsFile, boolean compact){
+        this.manifestFile = manifestFile.toAbsolutePath().normalize();
+        this.textureDirectory = textureDirectory.toAbsolutePath().normalize();
+        this.sink = sink;
+        this.metrics = metrics;
+        this.metricsFile = metricsFile;
+        this.compact = compact;
+    }
+
+    //Generates the manifest, then watches for changes until the thread is interrupted
+    public void Run() throws IOException {
+        try (WatchService watcher = manifestFile.getFileSystem().newWatchService()) {
+            manifestFile.getParent().register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            Register(watcher, textureDirectory);
+            ReloadManifest();
+            sink.Flush();
+            SaveMetrics();
+            System.out.println("Watching " + manifestFile.getFileName() + " and " + textureDirectory + " for changes");
+
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<Path> changed = new LinkedHashSet<>();
+                WatchKey key = watcher.take();
+                //Editors often save a file in a few steps, so wait a little for the rest of the changes
+                while (key != null) {
+                    Path directory = (Path) key.watchable();
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if(event.kind() == StandardWatchEventKinds.OVERFLOW)
+                            continue;
+                        //Anything else next to the manifest (e.g. the generated files' hashes) is ignored
+                        Path file = directory.resolve((Path) event.context());
+                        if(file.equals(manifestFile) || file.startsWith(textureDirectory))
+                            changed.add(file);
+                    }
+                    key.reset();
+                    key = watcher.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                if(changed.isEmpty())
+                    continue;
+                long start = System.nanoTime();
+                for (Path file : changed) {
+                    if(file.equals(manifestFile))
+                        ReloadManifest();
+                    else if(Files.isDirectory(file))
+                        Register(watcher, file);
+                    else
+                        RegenerateTexture(file);
+                }
+                sink.Flush();
+                SaveMetrics();
+                System.out.println("Updated in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void Register(WatchService watcher, Path directory) throws IOException {
+        if(!Files.isDirectory(directory))
+            return;
+        try (Stream<Path> directories = Files.walk(directory)) {
+            for (Path subdirectory : (Iterable<Path>) directories.filter(Files::isDirectory)::iterator) {
+                subdirectory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        }
+    }
+
+    //Generates the sets that have been added to the manifest since it was last loaded
+    private void ReloadManifest(){
+        try{
+            entries = BatchManifest.Load(manifestFile).GetEntries();
+        } catch (IOException | IllegalArgumentException e) {
+            //Keep watching, the manifest may only be half edited
+            System.out.println("Error reading manifest " + manifestFile.getFileName() + ": " + e.getMessage());
+            return;
+        }
+        for (BatchManifest.Entry entry : entries) {
+            EnumSet<Generator.SetType> sets = generated.computeIfAbsent(entry.mod + ":" + entry.material,
+                    material -> EnumSet.noneOf(Generator.SetType.class));
+            for (Generator.SetType set : entry.sets) {
+                if(sets.add(set)) {
+                    GetGenerator(entry.mod).GenerateSet(set, entry.material);
+                    System.out.println("Generated " + set.name().toLowerCase(Locale.ROOT) + " for " + entry.material);
+                }
+            }
+        }
+    }
+
+    //Regenerates the part the texture belongs to, for each material it matches
+    private void RegenerateTexture(Path texture){
+        String name = texture.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        if(extension > 0)
+            name = name.substring(0, extension);
+        //Stripped textures belong to the stripped parts, e.g. stripped_oak_log is oak's stripped_log
+        String prefix = "";
+        if(name.startsWith("stripped_")) {
+            prefix = "stripped_";
+            name = name.substring(prefix.length());
+        }
+
+        BatchManifest.Entry material = null;
+        for (BatchManifest.Entry entry : entries) {
+            boolean matches = name.equals(entry.material) || name.startsWith(entry.material + "_");
+            if(matches && (material == null || entry.material.length() > material.material.length()))
+                material = entry;
+        }
+        if(material == null)
+            return;
+        String partName = prefix + name.substring(Math.min(name.length(), material.material.length() + 1));
+
+        for (BatchManifest.Entry entry : entries) {
+            if(entry.material.equals(material.material))
+                RegeneratePart(entry, partName);
+        }
+    }
+
+    private void RegeneratePart(BatchManifest.Entry entry, String partName){
+        Generator gen = GetGenerator(entry.mod);
+        //The longest part name the texture starts with, e.g. door for door_bottom
+        Runnable part = null;
+        String matchedName = "";
+        for (Generator.SetType set : entry.sets) {
+            for (Map.Entry<String, Runnable> setPart : gen.GetSetParts(set, entry.material).entrySet()) {
+                String name = setPart.getKey();
+                boolean matches = partName.equals(name) || partName.startsWith(name + "_");
+                if(matches && name.length() > matchedName.length()) {
+                    part = setPart.getValue();
+                    matchedName = name;
+                }
+            }
+        }
+        if(part != null) {
+            part.run();
+            System.out.println("Regenerated " + entry.material + " " + matchedName);
+        } else {
+            for (Generator.SetType set : entry.sets) {
+                gen.GenerateSet(set, entry.material);
+            }
+            System.out.println("Regenerated " + entry.material);
+        }
+    }
+
+    private Generator GetGenerator(String mod){
+        return generators.computeIfAbsent(mod, name -> new Generator(name, sink, metrics, compact));
+    }
+
+    private void SaveMetrics(){
+        if(metricsFile != null)
+            metrics.Save(metricsFile);
+    }
+}
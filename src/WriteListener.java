@@ -0,0 +1,19 @@
+/***
+ * WriteListener
+ *
+ * This interface is told what happened to a single asset once it has been written,
+ * skipped (because the file already exists, or is unchanged), or has failed to write.
+ * Writers that queue their assets call it later, from whichever thread does the writing.
+ */
+public interface WriteListener {
+    WriteListener NONE = new WriteListener() {};
+
+    //The asset was written, taking the given number of nanoseconds
+    default void Written(long bytes, long nanos){}
+
+    //The asset was left as it is
+    default void Skipped(){}
+
+    //The asset could not be written
+    default void Failed(Exception e){}
+}
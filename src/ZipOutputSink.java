@@ -0,0 +1,107 @@
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/***
+ * ZipOutputSink
+ *
+ * This class streams every file the Generator renders into a single zip (or jar),
+ * using the file's path inside the pack as the entry name. This builds a resource
+ * pack or datapack directly, without writing the loose files first.
+ *
+ * The compression level is STORED (0) for no compression, or a deflate level from 1 to 9.
+ * Archives opened with a .jar name are written as jars, with a manifest.
+ *
+ * The archive is only complete once the sink has been closed.
+ */
+public class ZipOutputSink implements OutputSink {
+    public static final int STORED = 0;
+    public static final int DEFAULT_LEVEL = Deflater.DEFAULT_COMPRESSION;
+
+    private final ZipOutputStream zip;
+    private final boolean stored;
+    private final Set<String> entries = new HashSet<>();
+    private final CRC32 crc = new CRC32();
+
+    public ZipOutputSink(OutputStream out){
+        this(new ZipOutputStream(out), DEFAULT_LEVEL);
+    }
+    public ZipOutputSink(ZipOutputStream zip, int compressionLevel){
+        this.zip = zip;
+        stored = (compressionLevel == STORED);
+        if(stored) {
+            zip.setMethod(ZipOutputStream.STORED);
+        } else {
+            zip.setLevel(compressionLevel);
+        }
+    }
+
+    //Opens the archive as a single buffered file handle
+    public static ZipOutputSink Open(Path archive, int compressionLevel) throws IOException {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(archive), 1 << 16);
+        if(archive.getFileName().toString().endsWith(".jar")) {
+            Manifest manifest = new Manifest();
+            manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+            return new ZipOutputSink(new JarOutputStream(out, manifest), compressionLevel);
+        }
+        return new ZipOutputSink(new ZipOutputStream(out), compressionLevel);
+    }
+
+    @Override
+    public synchronized void Write(String namespace, AssetType type, String name, byte[] content, WriteListener listener) {
+        String entryName = type.GetPackPath(namespace, name);
+        if(!entries.add(entryName)) {
+            listener.Skipped();
+            return;
+        }
+        long start = System.nanoTime();
+        try{
+            ZipEntry entry = new ZipEntry(entryName);
+            if(stored) {
+                //Stored entries need their size and checksum up front
+                crc.reset();
+                crc.update(content);
+                entry.setSize(content.length);
+                entry.setCompressedSize(content.length);
+                entry.setCrc(crc.getValue());
+            }
+            zip.putNextEntry(entry);
+            zip.write(content);
+            zip.closeEntry();
+            listener.Written(content.length, System.nanoTime() - start);
+        } catch (IOException e) {
+            //Reported once, through the listener, as FileAssetWriter does
+            listener.Failed(e);
+        }
+    }
+
+    @Override
+    public synchronized void Flush() {
+        try{
+            zip.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("IO error flushing the zip", e);
+        }
+    }
+
+    @Override
+    public synchronized void Close() {
+        try{
+            zip.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("IO error closing the zip", e);
+        }
+    }
+}